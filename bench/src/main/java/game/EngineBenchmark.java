@@ -0,0 +1,118 @@
+package game;
+
+import game.GamePositions.Phase;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static helper.enums.Stone.*;
+
+/**
+ * The EngineBenchmark measures the hot paths of the engine on seeded positions of every board size and phase. It is
+ * in the game package to reach the package-private parts of the Board. Run it with
+ * java -jar bench/target/benchmarks.jar, or with -p boardSize=19 -p phase=END for a single position.
+ * @author Mark Banierink
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EngineBenchmark {
+
+    /**
+     * A seeded position with the valid moves of the player to move, which are tried in turn
+     */
+    @State(Scope.Thread)
+    public static class Position {
+
+        @Param({"5", "9", "19", "131"})
+        public int boardSize;
+
+        @Param({"EMPTY", "MID", "END"})
+        public Phase phase;
+
+        Game game;
+        Board copy;
+        int[] moves;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            game = GamePositions.create(boardSize, phase, GamePositions.DEFAULT_SEED);
+            copy = game.getBoard().boardCopy();
+            moves = GamePositions.validMoves(game);
+        }
+
+        /**
+         * Returns the index of the next valid move in the moves array
+         */
+        int nextMove() {
+            int move = next;
+            next = (next + 2) % moves.length;
+            return move;
+        }
+    }
+
+    /**
+     * A fresh copy of the position for every invocation, as move() changes the game for good
+     */
+    @State(Scope.Thread)
+    public static class MovePosition {
+
+        Game game;
+        int x;
+        int y;
+
+        @Setup(Level.Invocation)
+        public void setUp(Position position) {
+            game = position.game.copyThisGame();
+            int move = position.nextMove();
+            x = position.moves[move];
+            y = position.moves[move + 1];
+        }
+    }
+
+    @Benchmark
+    public String checkMoveValidity(Position position) {
+        int move = position.nextMove();
+        return position.game.checkMoveValidity(BLACK, position.moves[move], position.moves[move + 1]);
+    }
+
+    @Benchmark
+    public Game move(MovePosition position) {
+        position.game.move(BLACK, position.x, position.y);
+        return position.game;
+    }
+
+    @Benchmark
+    public int playUndo(Position position) {
+        int move = position.nextMove();
+        int captured = position.game.play(BLACK, position.moves[move], position.moves[move + 1]);
+        position.game.undo();
+        return captured;
+    }
+
+    /**
+     * Scores the position after a play, as the score of the last scored position is kept. The cost of the play
+     * itself is measured by playUndo
+     */
+    @Benchmark
+    public void getScore(Position position, Blackhole blackhole) {
+        int move = position.nextMove();
+        position.game.play(BLACK, position.moves[move], position.moves[move + 1]);
+        blackhole.consume(position.game.getScore(BLACK));
+        blackhole.consume(position.game.getScore(WHITE));
+        position.game.undo();
+    }
+
+    @Benchmark
+    public Board boardCopy(Position position) {
+        return position.game.getBoard().boardCopy();
+    }
+
+    @Benchmark
+    public boolean boardEquals(Position position) {
+        return position.game.getBoard().equals(position.copy);
+    }
+}
@@ -0,0 +1,105 @@
+package game;
+
+import helper.enums.Stone;
+import java.util.Arrays;
+import java.util.Random;
+
+import static helper.enums.Keyword.*;
+import static helper.enums.Stone.*;
+
+/**
+ * GamePositions creates the positions the engine is measured on: a two-player game after a number of seeded random
+ * moves. The same board size, phase and seed always give the same position, so the numbers of different versions
+ * of the engine can be compared.
+ * @author Mark Banierink
+ */
+public class GamePositions {
+
+    public static final long DEFAULT_SEED = 20170121L;
+    private static final int MAX_TRIES = 64;
+
+    /**
+     * The phase of a game, as the part of the fields that is covered by stones
+     */
+    public enum Phase {
+        EMPTY(0.0), MID(0.3), END(0.6);
+
+        private final double coverage;
+
+        Phase(double coverage) {
+            this.coverage = coverage;
+        }
+    }
+
+    private GamePositions() {
+    }
+
+    /**
+     * Creates a game in a phase by random valid moves that do not fill own eyes, so the board gets dense without
+     * the players destroying their own groups
+     * @param boardSize the size of the board
+     * @param phase the Phase to play to
+     * @param seed the seed of the moves
+     * @return Game with BLACK to move
+     */
+    public static Game create(int boardSize, Phase phase, long seed) {
+        Game game = new Game(boardSize, 1, 2);
+        game.addPlayer(new Player("black"), BLACK);
+        game.addPlayer(new Player("white"), WHITE);
+        Random random = new Random(seed);
+        int target = (int)(phase.coverage * boardSize * boardSize);
+        int failed = 0;
+        while (stones(game) < target && failed < MAX_TRIES) {
+            if (playRandomMove(game, random)) {
+                failed = 0;
+            }
+            else {
+                failed++;
+            }
+        }
+        if (game.getTurn() != BLACK) {
+            game.pass();
+        }
+        return game;
+    }
+
+    /**
+     * Finds the empty fields that are valid moves for the player to move
+     * @param game the Game
+     * @return array with the x and y coordinates of the moves, one pair after the other
+     */
+    public static int[] validMoves(Game game) {
+        int boardSize = game.getBoard().getBoardSize();
+        int[] moves = new int[2 * boardSize * boardSize];
+        int count = 0;
+        for (int y = 0; y < boardSize; y++) {
+            for (int x = 0; x < boardSize; x++) {
+                if (game.isValidMove(game.getTurn(), x, y)) {
+                    moves[count++] = x;
+                    moves[count++] = y;
+                }
+            }
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    private static boolean playRandomMove(Game game, Random random) {
+        int boardSize = game.getBoard().getBoardSize();
+        Stone stone = game.getTurn();
+        for (int i = 0; i < MAX_TRIES; i++) {
+            int x = random.nextInt(boardSize);
+            int y = random.nextInt(boardSize);
+            if (!game.isEye(stone, x, y) && game.checkMoveValidity(stone, x, y).equals(VALID.toString())) {
+                game.move(stone, x, y);
+                return true;
+            }
+        }
+        game.pass();
+        return false;
+    }
+
+    private static int stones(Game game) {
+        Board board = game.getBoard();
+        return board.countStones(BLACK) + board.countStones(WHITE);
+    }
+}
@@ -0,0 +1,578 @@
+package client;
+
+import game.*;
+import gui.GuiObserver;
+import helper.*;
+import helper.commands.*;
+
+import helper.enums.*;
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import client.strategy.*;
+import client.strategy.strategies.*;
+
+import static helper.CommandToolbox.*;
+import static helper.ConsoleToolbox.*;
+import static helper.enums.Keyword.*;
+import static helper.enums.PlayerType.*;
+import static helper.enums.Resources.*;
+import static helper.enums.Stone.*;
+import static helper.enums.Strategies.*;
+
+/**
+ * The Client Class handles the client side of the game
+ * It is extended by a ComputerClient or HumanClient
+ * A computer player asks the server for the binary protocol, a human player keeps the readable text protocol
+ * The board is shown in the GUI, unless the system property go.headless is true
+ * @author Mark Banierink
+ */
+public class Client implements ServerClientInterface {
+
+    private static final int DEFAULT_BOARD_SIZE = 5;
+    private static final int DEFAULT_CALCULATION_TIME = 1000;
+    private static final int MIN_CALCULATION_TIME = 100;
+    private static final int MAX_CALCULATION_TIME = 10000;
+    private static final int TRANSPOSITION_TABLE_SIZE = 1 << 20;
+    private static final long BINARY_ANSWER_TIMEOUT = 5000;
+    public static final String HEADLESS_PROPERTY = "go.headless";
+    private static final boolean HEADLESS = Boolean.getBoolean(HEADLESS_PROPERTY);
+
+    private InetAddress inetAddress;
+    private int port;
+    private ConsoleReader consoleReader;
+    private SocketReader socketReader;
+    private Socket socket;
+    private OutputStream serverInput;
+    private volatile boolean binary;
+    private CountDownLatch binaryAnswer = new CountDownLatch(0);
+    private Player player;
+    private volatile Game game;
+    private Thread socketReaderThread;
+    private Thread consoleReaderThread;
+    private PlayerType playerType = HUMAN;
+    private Strategies strategyType;
+    private volatile Strategy strategy;
+    private TranspositionTable transpositionTable;
+    private int calculationTime = 1000;
+    private Logger logger = new Logger(LOGGER.toString());
+    private CommandParser serverParser = new CommandParser();                  // Only used by the SocketReader
+    private CommandParser consoleParser = new CommandParser();                 // Only used by the ConsoleReader
+    private CommandParser outputParser = new CommandParser();                  // Only used by handleServerInput
+
+    public static void main(String[] args) {
+        System.out.println("Starting Client");
+        new Client();
+    }
+
+    /**
+     * The constructor can be called from the subclasses. No parameters or environmental variables are required
+     */
+    public Client() {
+        consoleReader = new ConsoleReader(this);
+        inetAddress = getInetAddress();
+        port = getPortNumber();
+        startNewConnection();
+    }
+
+    protected void connectionLost() {
+        if (!socket.isClosed()) {
+            try {
+                socket.close();
+            }
+            catch (IOException e) {
+                logger.warning(e.getMessage());
+            }
+        }
+        consoleReaderThread.interrupt();
+
+        startNewConnection();
+    }
+
+    private void startNewConnection() {
+        logger.info(CONNECTING_SOCKET.toString());
+        binary = false;
+        game = null;
+        socket = getSocket(inetAddress, port);
+        logger.info("Connected to socket");
+        socketReader = new SocketReader(socket, this);
+        socketReaderThread = new Thread(socketReader, "SocketReader");
+        socketReaderThread.start();
+        serverInput = createSocketWriter(socket);
+        startNewPlayer();
+        startNewGame();
+    }
+
+    private void startNewConsoleReaderThread() {
+        consoleReaderThread = new Thread(consoleReader, "ConsoleReader");
+        consoleReaderThread.start();
+    }
+
+    private int getPortNumber() {
+        return requestIntegerInput(consoleReader, "Port number", DEFAULT_PORT, PORT_MIN, PORT_MAX);
+    }
+
+    private int requestBoardSize() {
+        int boardSize = requestIntegerInput(consoleReader, "Preferred board size (odd)", DEFAULT_BOARD_SIZE, BOARD_SIZE_MIN, BOARD_SIZE_MAX);
+        if (isValidBoardSize(boardSize, BOARD_SIZE_MIN, BOARD_SIZE_MAX)) {
+            return boardSize;
+        }
+        else {
+            return DEFAULT_BOARD_SIZE;
+        }
+    }
+
+    private Player createPlayer() {
+        Player player = new Player(requestStringInput(consoleReader, "What is your name", null));
+        if (requestBooleanInput(consoleReader, "Do you want a computer player", Y.toString())) {
+            playerType = COMPUTER;
+        }
+        if (requestBooleanInput(consoleReader, "Do you want a smart strategy", Y.toString())) {
+            strategyType = SMART;
+            if (requestBooleanInput(consoleReader, "Do you want it to use Monte Carlo tree search", N.toString())) {
+                strategyType = MONTE_CARLO;
+            }
+        }
+        else {
+            strategyType = RANDOM;
+        }
+        if (playerType == COMPUTER) {                                          // A human player never probes it
+            transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_SIZE);
+        }
+        setPlayer(player);
+        return player;
+    }
+
+    private void setPlayer(Player player) {
+        this.player = player;
+    }
+
+    protected Game getGame() {
+        return game;
+    }
+
+    protected Player getPlayer() {
+        return player;
+    }
+
+    private void createGame(int boardSize, int movesPerTurn, int playersPerGame) {
+        game = new Game(boardSize, movesPerTurn, playersPerGame);
+        if (!HEADLESS) {
+            game.addObserver(new GuiObserver());
+        }
+    }
+
+    private void startNewPlayer() {
+        Player newPlayer = createPlayer();
+        if (playerType == COMPUTER) {
+            binaryAnswer = new CountDownLatch(1);
+            handleServerInput(createCommandPlayerBinary(newPlayer));
+            awaitBinaryAnswer();
+        }
+        else {
+            handleServerInput(createCommandPlayer(newPlayer));
+        }
+        calculationTime = requestIntegerInput(consoleReader, "The maximum calculation time in milliseconds", DEFAULT_CALCULATION_TIME, MIN_CALCULATION_TIME, MAX_CALCULATION_TIME);
+    }
+
+    private void startNewGame() {
+        if (game != null) {
+            startNewConsoleReaderThread();                                      // The server resumed a recovered game
+        }
+        else if (requestBooleanInput(consoleReader, "Do you want to start a new game", Y.toString())) {
+            if (game == null) {
+                handleServerInput(createCommandGo(requestBoardSize()));
+            }
+            startNewConsoleReaderThread();
+        }
+        else {
+            shutDown();
+        }
+    }
+
+    private Socket getSocket(InetAddress inetAddress, int port) {
+        while (true) {
+            try {
+                return new Socket(inetAddress, port);
+            }
+            catch (IOException e) {
+                logger.warning("No Socket available, retrying...");
+            }
+        }
+    }
+
+    private InetAddress getInetAddress() {
+        InetAddress inetAddress = null;
+        try {
+            inetAddress = InetAddress.getByName(requestStringInput(consoleReader, "Enter the IP address", "localhost"));
+        }
+        catch (UnknownHostException e) {
+            logger.error("No Internet Address");
+        }
+        return inetAddress;
+    }
+
+    /**
+     * Waits until the server switched to the binary protocol, or refused the player, before anything else is sent
+     */
+    private void awaitBinaryAnswer() {
+        try {
+            if (!binaryAnswer.await(BINARY_ANSWER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                logger.warning("No answer to the binary protocol request");
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OutputStream createSocketWriter(Socket socket) {
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(socket.getOutputStream());
+        }
+        catch (IOException e) {
+            logger.warning(e.getMessage());
+        }
+        return out;
+    }
+
+    protected void handleServerOutput(String string) {
+        handleServerOutput(serverParser.decode(string));
+    }
+
+    /**
+     * Handles a command of the server, decoded from a line or from a binary frame
+     * @param command the decoded Command
+     */
+    protected void handleServerOutput(Command command) {
+        String string = command.getLine();
+        if (logger.isEnabled(LogLevel.DEBUG)) {
+            logger.debug(SERVER.toString() + COLON + string);
+        }
+        if (!command.isValid()) {
+            noCommand(string);
+            return;
+        }
+        switch (command.getKeyword()) {
+            case BINARY:
+                commandBinary();
+                break;
+            case WAITING:
+                commandWaiting();
+                break;
+            case READY:
+                commandReady((ReadyCommand)command);
+                break;
+            case VALID:
+                commandValid((MoveCommand)command);
+                break;
+            case INVALID:
+                commandInvalid((StoneCommand)command);
+                break;
+            case PASSED:
+                commandPassed((StoneCommand)command);
+                break;
+            case TABLEFLIPPED:
+                commandTableFlipped((StoneCommand)command);
+                break;
+            case CHAT:
+                commandChat((TextCommand)command);
+                break;
+            case WARNING:
+                commandWarning((TextCommand)command);
+                break;
+            case END:
+                commandEnd((EndCommand)command);
+                break;
+            default:
+                noCommand(string);
+        }
+    }
+
+    private void checkForMove() {
+        if (player.getStone().equals(game.getTurn()) && !game.isFinished()) {
+            if (playerType == COMPUTER) {
+                strategy = createStrategy();
+                Thread strategyThread = new Thread(strategy);
+                strategyThread.start();
+            }
+            else {
+                printOutput(YOUR_TURN);
+            }
+        }
+        else {
+            strategy = null;                                                    // A replayed turn is already over
+        }
+    }
+
+    private void commandBinary() {
+        binary = true;
+        binaryAnswer.countDown();
+    }
+
+    protected boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * Returns the board size that numbers the fields of a move in the binary protocol
+     * @return integer with the board size of the current game, or 0 without game
+     */
+    protected int getBoardSize() {
+        Game current = game;
+        return current == null ? 0 : current.getBoard().getBoardSize();
+    }
+
+    private void commandWaiting() {
+        printOutput(WAITING_FOR_OPPONENT);
+    }
+
+    private void commandReady(ReadyCommand command) {
+        printOutput("Opponent found");
+        int numPlayers = command.getNumberOfPlayers();
+        createGame(command.getBoardSize(), DEFAULT_MOVES_PER_TURN, numPlayers);
+        game.addPlayer(player, command.getStone());
+        printOutput("You are " + command.getStone());
+        Player opponent = new Player(command.getName());
+        Stone stone;
+        if (command.getStone().equals(EMPTY.nextStone(numPlayers))) {
+            stone = EMPTY.nextStone(numPlayers).nextStone(numPlayers);
+        }
+        else {
+            stone = EMPTY.nextStone(numPlayers);
+        }
+        game.addPlayer(opponent, stone);
+        for (int i = 4; i < numPlayers + 2; i++) {
+            Player newPlayer = new Player(command.getOther(i - 4));
+            game.addPlayer(newPlayer, Stone.values()[(i - 2)]);
+        }
+        printOutput("Starting game");
+        checkForMove();
+    }
+
+    private void commandValid(MoveCommand command) {
+        String response = game.checkMoveValidity(command.getStone(), command.getX(), command.getY());
+        if (response.equals(VALID.toString())) {
+            game.move(command.getStone(), command.getX(), command.getY());
+            checkForMove();
+        }
+        else {
+            printOutput(SERVER_CLIENT_MISMATCH);
+        }
+    }
+
+    private void commandInvalid(StoneCommand command) {
+        Player opponent = game.getPlayerByStone(command.getStone());
+        printOutput("Invalid move by " + opponent.getName() + ": " + command.getReason());
+    }
+
+    private void commandPassed(StoneCommand command) {
+        if (game.isValidPass(command.getStone())) {
+            game.pass();
+            printOutput(game.getPlayerByStone(command.getStone()).getName() + " passed");
+            checkForMove();
+        }
+        else {
+            printOutput(SERVER_CLIENT_MISMATCH);
+        }
+    }
+
+    private void commandTableFlipped(StoneCommand command) {
+        if (game.isValidTableFlip(command.getStone())) {
+            game.tableFlip();
+            printOutput(game.getPlayerByStone(command.getStone()).getName() + " tableflipped");
+        }
+        else {
+            printOutput(SERVER_CLIENT_MISMATCH);
+        }
+    }
+
+    private void commandChat(TextCommand command) {
+        printOutput(command.getText());
+    }
+
+    private void commandWarning(TextCommand command) {
+        binaryAnswer.countDown();                                               // A refused player gets no BINARY
+        printOutput("Warning: " + command.getText());
+    }
+
+    private void commandEnd(EndCommand command) {
+        String result = determineWinner(command);
+        String outputMessage = result + " with " + command.getScore(0);
+        for (int j = 1; j < command.getNumberOfScores(); j++) {
+            outputMessage += " to " + command.getScore(j);
+        }
+        printOutput(outputMessage);
+        consoleReaderThread.interrupt();
+        printOutput("Press [Enter] to proceed");
+        while (consoleReaderThread.isAlive()) {
+            // Waiting to press [Enter] and kill the consoleReaderThread
+        }
+        game = null;
+        startNewGame();
+    }
+
+    private String determineWinner(EndCommand command) {
+        int max = 0;
+        boolean draw = true;
+        String result;
+        for (int i = 0; i < command.getNumberOfScores(); i++) {
+            if (command.getScore(i) > command.getScore(max)) {
+                draw = false;
+                max = i;
+            }
+            else if (command.getScore(i) < command.getScore(max)) {
+                draw = false;
+            }
+        }
+        if (draw) {
+            if (command.getScore(0) == -1) {
+                result = "Winner due to premature leaving of your opponent";
+            }
+            else {
+                result = "Draw..";
+            }
+        }
+        else if (Stone.values()[max + 1].equals(player.getStone())) {           // Scores in stone order, after EMPTY
+            result = "WINNER!!!";
+        }
+        else {
+            result = "Loser..";
+        }
+        return result;
+    }
+
+    private void noCommand(String string) {
+        printOutput(createCommandWarning(string));
+    }
+
+    /**
+     * Returns the transposition table that the strategies of this client share across turns
+     * @return the TranspositionTable of this session, or null for a human player
+     */
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
+
+    private Strategy createStrategy() {
+        if (strategyType == MONTE_CARLO) {
+            return new MonteCarloStrategy(game, getPlayer().getStone(), calculationTime, this);
+        }
+        else if (strategyType == SMART) {
+            return new SmartStrategy(game, getPlayer().getStone(), calculationTime, this);
+        }
+        else {
+            return new RandomStrategy(game, getPlayer().getStone(), calculationTime, this);
+        }
+    }
+
+    private String createHint() {
+        strategy = createStrategy();
+        String hintString = strategy.determineMove();
+        String[] hintSplit = splitString(hintString);
+        if (isMoveCommand(hintString)) {
+            game.showHint(Integer.parseInt(hintSplit[1]), Integer.parseInt(hintSplit[2]));
+        }
+        return hintString;
+    }
+
+    public void handleConsoleInput(String string) {
+        Keyword keyword = consoleParser.parse(string);
+        if (keyword == null) {
+            handleServerInput(createCommandChat(string));
+            return;
+        }
+        switch (keyword) {
+            case MOVE:
+            case PASS:
+            case TABLEFLIP:
+                if (game.isHint()) {
+                    game.removeHint();
+                }
+                handleServerInput(string);
+                break;
+            case HINT:
+                String hint = createHint();
+                printOutput("Maybe: " + hint);
+                break;
+            case CANCEL:
+            case GO:
+            case PLAYER:
+                handleServerInput(string);
+                break;
+            default:
+                handleServerInput(createCommandChat(string));
+        }
+    }
+
+    /**
+     * Sends the move of a strategy, unless a newer strategy was started in the meantime, like when the server
+     * replays the moves of a recovered game faster than the strategies think
+     * @param source the Strategy that determined the move
+     * @param string the MOVE or PASS line
+     */
+    public void handleStrategyMove(Strategy source, String string) {
+        if (source == strategy) {
+            handleServerInput(string);
+        }
+    }
+
+    public synchronized void handleServerInput(String string) {
+        logger.debug(string);
+        try {
+            if (binary) {
+                ByteBuffer frame = BinaryCodec.encode(outputParser.decode(string), getBoardSize());
+                serverInput.write(frame.array(), frame.position(), frame.remaining());
+            }
+            else {
+                serverInput.write((string + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            serverInput.flush();
+        }
+        catch (IOException e) {
+            logger.error("Socket lost");
+            logger.error(e.getMessage());
+        }
+    }
+
+    private void shutDown() {
+        if (game != null) {
+            game.close();
+        }
+        if (socketReader != null) {
+            socketReader.setStop();
+        }
+        try {
+            socketReaderThread.join();
+            consoleReaderThread.join();
+        }
+        catch (InterruptedException e) {
+            logger.warning(e.getMessage());
+        }
+        try {
+            serverInput.close();
+            socket.close();
+        }
+        catch (IOException e) {
+            logger.warning(e.getMessage());
+        }
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    private void printOutput(Resources string) {
+        printOutput(string.toString());
+    }
+
+    private void printOutput(String string) {
+        System.out.println(string);
+    }
+}
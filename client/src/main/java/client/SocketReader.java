@@ -0,0 +1,83 @@
+package client;
+
+import helper.ProtocolReader;
+import helper.commands.Command;
+import java.io.*;
+import java.net.Socket;
+
+import static helper.enums.Resources.*;
+
+/**
+ * SocketReader reads contains the ProtocolReader for the socket. It reads lines until the server switched to the
+ * binary protocol, and frames after that.
+ *
+ * @author Mark Banierink
+ */
+public class SocketReader implements Runnable {
+
+    private Socket socket = null;
+    private Client client = null;
+    private ProtocolReader serverOutput;
+    private boolean stop;
+
+    public SocketReader(Socket socket, Client client) {
+        this.socket = socket;
+        this.client = client;
+        try {
+            serverOutput = new ProtocolReader(socket.getInputStream());
+        }
+        catch (IOException e) {
+            client.getLogger().warning(e.getMessage());
+        }
+    }
+
+    private void handleServerOutput(String string) {
+        client.handleServerOutput(string);
+    }
+
+    private boolean readOutput() throws IOException {
+        if (client.isBinary()) {
+            Command command = serverOutput.readFrame(client.getBoardSize());
+            if (command == null) {
+                return false;
+            }
+            client.handleServerOutput(command);
+        }
+        else {
+            String line = serverOutput.readLine();
+            if (line == null) {
+                return false;
+            }
+            handleServerOutput(line);
+        }
+        return true;
+    }
+
+    protected void setStop() {
+        stop = true;
+    }
+
+    public void run() {
+        try {
+            while (!stop && readOutput()) {
+                // Every output is passed on by readOutput
+            }
+            shutDown();
+        }
+        catch (IOException e) {
+            client.getLogger().warning(e.getMessage());
+        }
+    }
+
+    private void shutDown() {
+        try {
+            client.getLogger().info(STOP_SOCKETREADER.toString());
+            serverOutput.close();
+            socket.close();
+            client.connectionLost();
+        }
+        catch (IOException e) {
+            client.getLogger().warning(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package client.strategy;
+
+import client.Client;
+import game.Game;
+import helper.Logger;
+import helper.enums.Stone;
+
+import static helper.CommandToolbox.*;
+
+/**
+ * Abstract class describing the main functions of a client.strategy. The real client.strategy is implemented in a subclass
+ *
+ * @author Mark Banierink
+ */
+public abstract class Strategy implements Runnable {
+
+    private static final int DEFAULT_TABLE_SIZE = 1 << 12;
+
+    protected Game game;
+    protected Stone stone;
+    private Client client;
+    protected long maxTime;
+    protected TranspositionTable transpositionTable;
+    protected Logger logger;
+
+    public Strategy(Game game, Stone stone, int maxCalculationTime, Client client) {
+        this.game = game.copyThisGame();                                        // Moves are tried on a private copy
+        this.stone = stone;
+        this.client = client;
+        maxTime = System.currentTimeMillis() + maxCalculationTime;
+        transpositionTable = client != null ? client.getTranspositionTable() : null;
+        logger = client != null ? client.getLogger() : null;
+        if (transpositionTable == null) {
+            transpositionTable = new TranspositionTable(DEFAULT_TABLE_SIZE);
+        }
+    }
+
+    public void run() {
+        String command = determineMove();
+        pause();
+        handleMove(command);
+    }
+
+    private void handleMove(String command) {
+        client.handleStrategyMove(this, command);
+    }
+
+    public String determineMove() {
+        int[] xy = createMove();
+        if (xy[0] == -1) {
+            return createCommandPass();
+        }
+        else {
+            return createCommandMove(xy[0], xy[1]);
+        }
+
+    }
+
+    private void pause() {
+        try {
+            if (maxTime - System.currentTimeMillis() > 0) {
+                Thread.sleep(maxTime - System.currentTimeMillis());
+            }
+        }
+        catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the best move stored in the transposition table for the current position, if it is still valid
+     * @param kind the Kind of the entries of this strategy
+     * @param key the key of the current position, as the strategy stores it
+     * @return array with the x and y of the move, or -1 and -1 if there is none
+     */
+    protected int[] storedMove(TranspositionTable.Kind kind, long key) {
+        long entry = transpositionTable.probe(kind, key);
+        if (entry != TranspositionTable.MISSING && TranspositionTable.bestMove(entry) >= 0) {
+            int boardSize = game.getBoard().getBoardSize();
+            int x = TranspositionTable.bestMove(entry) % boardSize;
+            int y = TranspositionTable.bestMove(entry) / boardSize;
+            if (game.isValidMove(stone, x, y)) {
+                return new int[]{x, y};
+            }
+        }
+        return new int[]{-1, -1};
+    }
+
+    protected abstract int[] createMove();
+}
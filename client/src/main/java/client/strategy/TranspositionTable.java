@@ -0,0 +1,122 @@
+package client.strategy;
+
+import helper.enums.Stone;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size transposition table shared by the strategies of a client, so positions reached through another move
+ * order or seen again on a later turn are not evaluated from scratch. Every entry is stored under a Kind, so a
+ * strategy only finds the values of its own kind: a relative score of the SmartStrategy is never read as a win rate
+ * of the MonteCarloStrategy, or the other way around. A value that depends on the Stone that evaluated the position,
+ * and not only on the Stone that is to move, is stored under the key from perspective().
+ * An entry is two longs: the data (value, visits and best move packed together) and the key XOR the data. A reader
+ * only accepts an entry if the two combine to the key it looks for, so entries torn by concurrent writers are
+ * rejected instead of locked against. Every bucket has two entries: the first keeps the entry with the most visits,
+ * the second is always replaced
+ *
+ * @author Mark Banierink
+ */
+public class TranspositionTable {
+
+    public static final long MISSING = 0L;
+    public static final int NO_MOVE = -2;
+
+    private static final int ENTRY_LONGS = 2;
+    private static final int BUCKET_LONGS = 2 * ENTRY_LONGS;
+    private static final int MAX_VISITS = 0xFFFF;
+    private static final long STONE_SALT = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * The meaning of the values of an entry
+     */
+    public enum Kind {
+        SCORE,                                                                  // Score for the stone that evaluated it
+        WIN_RATE;                                                               // Wins per visit, between 0 and 1
+
+        private final long salt = (ordinal() + 1) * 0x9E3779B97F4A7C15L;       // Mixed into the key of the entry
+    }
+
+    private final AtomicLongArray table;
+    private final int bucketMask;
+
+    /**
+     * Constructor of an empty table
+     * @param capacity the number of entries, rounded up to a power of two
+     */
+    public TranspositionTable(int capacity) {
+        int entries = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        int buckets = entries / 2;
+        bucketMask = buckets - 1;
+        table = new AtomicLongArray(buckets * BUCKET_LONGS);
+    }
+
+    /**
+     * Returns the key of a position as seen by one Stone
+     * @param key the hash of the position, see Game.getHash()
+     * @param stone the Stone that evaluates the position
+     * @return long with the key to probe and store the value of this Stone with
+     */
+    public static long perspective(long key, Stone stone) {
+        return key ^ (stone.ordinal() + 1) * STONE_SALT;
+    }
+
+    /**
+     * Looks up a position
+     * @param kind the Kind of the entry
+     * @param key the hash of the position, see Game.getHash()
+     * @return the stored entry, to be read with value(), visits() and bestMove(), or MISSING
+     */
+    public long probe(Kind kind, long key) {
+        key ^= kind.salt;
+        int bucket = bucket(key);
+        for (int slot = bucket; slot < bucket + BUCKET_LONGS; slot += ENTRY_LONGS) {
+            long data = table.get(slot + 1);
+            if (data != MISSING && (table.get(slot) ^ data) == key) {
+                return data;
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Stores the result of a search of a position
+     * @param kind the Kind of the entry, which gives the value its meaning
+     * @param key the hash of the position, see Game.getHash()
+     * @param value the value of the position
+     * @param visits the number of times the position was evaluated, at least 1
+     * @param bestMove the index (y * boardSize + x) of the best move, -1 for a pass or NO_MOVE
+     */
+    public void store(Kind kind, long key, float value, int visits, int bestMove) {
+        key ^= kind.salt;
+        long data = pack(value, visits, bestMove);
+        int bucket = bucket(key);
+        long preferred = table.get(bucket + 1);
+        int slot = bucket + ENTRY_LONGS;
+        if (preferred == MISSING || (table.get(bucket) ^ preferred) == key || visits(data) >= visits(preferred)) {
+            slot = bucket;
+        }
+        table.set(slot, key ^ data);
+        table.set(slot + 1, data);
+    }
+
+    public static float value(long entry) {
+        return Float.intBitsToFloat((int)(entry >>> 32));
+    }
+
+    public static int visits(long entry) {
+        return (int)(entry >>> 16) & MAX_VISITS;
+    }
+
+    public static int bestMove(long entry) {
+        return (short)entry;
+    }
+
+    private static long pack(float value, int visits, int bestMove) {
+        long packedVisits = Math.min(Math.max(1, visits), MAX_VISITS);         // Never 0, so data is never MISSING
+        return ((long)Float.floatToIntBits(value) << 32) | (packedVisits << 16) | (bestMove & 0xFFFFL);
+    }
+
+    private int bucket(long key) {
+        return (int)((key ^ (key >>> 32)) & bucketMask) * BUCKET_LONGS;
+    }
+}
@@ -0,0 +1,493 @@
+package client.strategy.strategies;
+
+import client.Client;
+import client.strategy.Strategy;
+import client.strategy.TranspositionTable;
+import game.Game;
+import game.Player;
+import helper.enums.LogLevel;
+import helper.enums.Stone;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import static client.strategy.TranspositionTable.Kind.*;
+
+/**
+ * This class represents a Monte Carlo Tree Search strategy (UCT with RAVE). Random playouts are run in parallel on a
+ * fork-join pool until the calculation time is used up; every worker plays on its own copy of the game and the
+ * shared tree is only updated through atomic field updaters. The statistics of the tree are kept in the transposition
+ * table of the client afterwards, and new nodes start from the statistics stored there for their position.
+ * The search ends so that the move is ready at maxTime: the workers check the clock while selecting, expanding and
+ * playing out, and stop when the longest stretch between two checks they measured would pass the deadline. The time
+ * to store the tree and pick the move is measured as well and kept free at the end of the next search
+ *
+ * @author Mark Banierink
+ */
+public class MonteCarloStrategy extends Strategy {
+
+    private static final int PASS = -1;
+    private static final int ABORTED = -2;
+    private static final int DRAW = -1;
+    private static final int EXPAND_THRESHOLD = 4;
+    private static final double EXPLORATION = 0.3;
+    private static final double RAVE_EQUIVALENCE = 1000;
+    private static final double FIRST_PLAY_URGENCY = 1.1;
+    private static final long INITIAL_FINISH_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int FINISH_HEADROOM = 2;
+    private static final int TIME_CHECK_INTERVAL = 64;
+    private static final int MAX_PLAYOUT_FACTOR = 3;
+    private static final int MAX_PRIOR_VISITS = 50;
+    private static final int NUM_WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final ForkJoinPool POOL = new ForkJoinPool(NUM_WORKERS);
+    private static volatile long finishNanos = INITIAL_FINISH_NANOS;            // Measured by the last search
+
+    public MonteCarloStrategy(Game game, Stone stone, int maxCalculationTime, Client client) {
+        super(game, stone, maxCalculationTime, client);
+    }
+
+    @Override
+    protected int[] createMove() {
+        long startTime = System.nanoTime();
+        long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(maxTime - System.currentTimeMillis()) - finishNanos;
+        Node root = new Node(PASS, game.getTurn(), game.getHash());
+        long seed = new Random().nextLong();
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < NUM_WORKERS; i++) {
+            tasks.add(POOL.submit(new Worker(root, game.copyThisGame(), transpositionTable, deadline, seed + i)));
+        }
+        long playouts = 0;
+        for (ForkJoinTask<Long> task : tasks) {
+            playouts += task.join();
+        }
+        long searchEnd = System.nanoTime();
+        Node[] children = root.children;
+        if (children != null) {
+            for (Node child : children) {
+                storeTree(child);
+            }
+        }
+        int[] move = bestMove(root);
+        long finishEnd = System.nanoTime();
+        finishNanos = FINISH_HEADROOM * (finishEnd - searchEnd);
+        report(playouts, TimeUnit.NANOSECONDS.toMillis(finishEnd - startTime));
+        return move;
+    }
+
+    /**
+     * Stores the nodes that were expanded, with their win rate and most visited move
+     */
+    private void storeTree(Node node) {
+        if (node.visits < EXPAND_THRESHOLD) {
+            return;
+        }
+        int bestMove = TranspositionTable.NO_MOVE;
+        Node[] children = node.children;
+        if (children != null) {
+            Node best = null;
+            for (Node child : children) {
+                storeTree(child);
+                if (best == null || child.visits > best.visits) {
+                    best = child;
+                }
+            }
+            bestMove = best.move;
+        }
+        transpositionTable.store(WIN_RATE, node.key, node.wins / (2f * node.visits), node.visits, bestMove);
+    }
+
+    private int[] bestMove(Node root) {
+        Node best = null;
+        Node[] children = root.children;
+        if (children != null) {
+            for (Node child : children) {
+                if (best == null || child.visits > best.visits) {
+                    best = child;
+                }
+            }
+        }
+        if (best == null || best.move == PASS) {
+            return new int[]{-1, -1};
+        }
+        int boardSize = game.getBoard().getBoardSize();
+        return new int[]{best.move % boardSize, best.move / boardSize};
+    }
+
+    private void report(long playouts, long duration) {
+        if (logger != null && logger.isEnabled(LogLevel.DEBUG)) {
+            long playoutsPerSecond = playouts * 1000 / Math.max(1, duration);
+            logger.debug("Monte Carlo: " + playouts + " playouts in " + duration + " ms (" + playoutsPerSecond
+                    + " playouts/s)");
+        }
+    }
+
+    /**
+     * Node of the search tree. A node represents the move that leads to it, made by the Stone in mover. The
+     * statistics count wins double, so a draw can be stored as a single point
+     */
+    private static class Node {
+
+        private static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "children");
+        private static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicIntegerFieldUpdater<Node> WINS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "wins");
+        private static final AtomicIntegerFieldUpdater<Node> RAVE_VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "raveVisits");
+        private static final AtomicIntegerFieldUpdater<Node> RAVE_WINS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "raveWins");
+
+        private final int move;
+        private final Stone mover;
+        private final long key;
+        private volatile Node[] children;
+        private volatile int visits;
+        private volatile int wins;
+        private volatile int raveVisits;
+        private volatile int raveWins;
+
+        private Node(int move, Stone mover, long key) {
+            this.move = move;
+            this.mover = mover;
+            this.key = key;
+        }
+
+        /**
+         * Adds the moves of the current position as children. A child starts with the statistics stored for its
+         * position in the transposition table, limited to MAX_PRIOR_VISITS
+         * @return the children, or null if the worker ran out of time before all moves were tried
+         */
+        private Node[] expand(Game game, TranspositionTable table, Worker worker) {
+            int boardSize = game.getBoard().getBoardSize();
+            Stone turn = game.getTurn();
+            List<Node> moves = new ArrayList<>();
+            for (int point = 0; point < boardSize * boardSize; point++) {
+                if (point % boardSize == 0 && !worker.hasTimeLeft()) {         // Once per row of the board
+                    return null;
+                }
+                int x = point % boardSize;
+                int y = point / boardSize;
+                if (game.isValidMove(turn, x, y) && !game.isEye(turn, x, y)) {
+                    game.play(turn, x, y);
+                    moves.add(new Node(point, turn, game.getHash()));
+                    game.undo();
+                }
+            }
+            if (moves.isEmpty()) {
+                game.playPass();
+                moves.add(new Node(PASS, turn, game.getHash()));
+                game.undo();
+            }
+            int priorVisits = 0;
+            for (Node child : moves) {
+                priorVisits += child.prior(table.probe(WIN_RATE, child.key));
+            }
+            if (CHILDREN.compareAndSet(this, null, moves.toArray(new Node[0]))) {
+                VISITS.addAndGet(this, priorVisits);
+            }
+            return children;
+        }
+
+        private int prior(long entry) {
+            if (entry == TranspositionTable.MISSING) {
+                return 0;
+            }
+            int priorVisits = Math.min(TranspositionTable.visits(entry), MAX_PRIOR_VISITS);
+            visits = priorVisits;
+            wins = Math.round(2 * TranspositionTable.value(entry) * priorVisits);
+            return priorVisits;
+        }
+
+        private double value(double logParentVisits) {
+            double quality = visits > 0 ? wins / (2.0 * visits) : FIRST_PLAY_URGENCY;
+            if (move != PASS && raveVisits > 0) {
+                double beta = Math.sqrt(RAVE_EQUIVALENCE / (3 * visits + RAVE_EQUIVALENCE));
+                double amaf = raveWins / (2.0 * raveVisits);
+                quality = visits > 0 ? (1 - beta) * quality + beta * amaf : amaf;
+            }
+            return quality + EXPLORATION * Math.sqrt(logParentVisits / (visits + 1));
+        }
+    }
+
+    /**
+     * Runs iterations on its own copy of the game until the deadline: select and expand in the shared tree, play a
+     * random game to the end, take all moves back and update the statistics of the path
+     */
+    private static class Worker implements Callable<Long> {
+
+        private final Node root;
+        private final Game game;
+        private final TranspositionTable table;
+        private final long deadline;
+        private long lastCheck;
+        private long longestStep;
+        private final Random random;
+        private final int boardSize;
+        private final int maxPlayoutLength;
+        private final int[] firstOrdinal;
+        private final int[] candidates;
+        private int numCandidates;
+        private Node[] path = new Node[64];
+        private int[] movePoints = new int[256];
+        private int[] moveOrdinals = new int[256];
+        private long[] moveHashes = new long[256];
+        private int numMoves;
+
+        private Worker(Node root, Game game, TranspositionTable table, long deadline, long seed) {
+            this.root = root;
+            this.game = game;
+            this.table = table;
+            this.deadline = deadline;
+            random = new Random(seed);
+            boardSize = game.getBoard().getBoardSize();
+            maxPlayoutLength = MAX_PLAYOUT_FACTOR * boardSize * boardSize;
+            firstOrdinal = new int[boardSize * boardSize];
+            candidates = new int[boardSize * boardSize];
+            Arrays.fill(firstOrdinal, -1);
+        }
+
+        @Override
+        public Long call() {
+            long playouts = 0;
+            lastCheck = System.nanoTime();
+            while (hasTimeLeft()) {
+                if (iterate()) {
+                    playouts++;
+                }
+            }
+            return playouts;
+        }
+
+        /**
+         * Checks the clock and measures the time since the previous check
+         * @return true if the longest time measured between two checks still fits before the deadline
+         */
+        private boolean hasTimeLeft() {
+            long now = System.nanoTime();
+            longestStep = Math.max(longestStep, now - lastCheck);
+            lastCheck = now;
+            return now + longestStep < deadline;
+        }
+
+        private boolean iterate() {
+            numMoves = 0;
+            int depth = 0;
+            Node node = root;
+            path[0] = root;
+            Node.VISITS.incrementAndGet(root);
+            while (!game.isFinished()) {
+                if (!hasTimeLeft()) {
+                    return abort(depth);
+                }
+                Node[] children = node.children;
+                boolean expanded = false;
+                if (children == null) {
+                    if (node != root && node.visits < EXPAND_THRESHOLD) {
+                        break;
+                    }
+                    children = node.expand(game, table, this);
+                    if (children == null) {
+                        return abort(depth);
+                    }
+                    expanded = true;
+                }
+                node = select(node, children);
+                Node.VISITS.incrementAndGet(node);                             // A virtual loss until the result is in
+                playMove(node.mover, node.move);
+                depth++;
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth] = node;
+                if (expanded) {
+                    break;
+                }
+            }
+            int winner = playout();
+            if (winner == ABORTED) {
+                return abort(depth);
+            }
+            for (int i = 0; i < numMoves; i++) {
+                game.undo();
+            }
+            for (int i = 1; i <= depth; i++) {
+                Node.WINS.addAndGet(path[i], reward(path[i].mover, winner));
+            }
+            updateRave(depth, winner);
+            return true;
+        }
+
+        /**
+         * Takes back the moves of an iteration that ran out of time, and the visits it added to the path
+         */
+        private boolean abort(int depth) {
+            for (int i = 0; i < numMoves; i++) {
+                game.undo();
+            }
+            for (int i = 0; i <= depth; i++) {
+                Node.VISITS.decrementAndGet(path[i]);
+            }
+            return false;
+        }
+
+        private Node select(Node node, Node[] children) {
+            double logParentVisits = Math.log(Math.max(1, node.visits));
+            Node best = children[0];
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                double value = child.value(logParentVisits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        private int playout() {
+            int length = 0;
+            collectCandidates();
+            while (!game.isFinished() && length < maxPlayoutLength) {
+                if (length % TIME_CHECK_INTERVAL == 0 && !hasTimeLeft()) {
+                    return ABORTED;
+                }
+                Stone turn = game.getTurn();
+                if (!playRandomMove(turn)) {
+                    playMove(turn, PASS);
+                }
+                length++;
+            }
+            return winner();
+        }
+
+        private void collectCandidates() {
+            numCandidates = 0;
+            for (int point = 0; point < candidates.length; point++) {
+                if (game.getBoard().getField(point % boardSize, point / boardSize) == Stone.EMPTY) {
+                    candidates[numCandidates++] = point;
+                }
+            }
+        }
+
+        /**
+         * Picks random empty fields until one is playable. Fields that are not playable now are moved behind the
+         * remaining ones, so every field is tried at most once per move
+         */
+        private boolean playRandomMove(Stone turn) {
+            int remaining = numCandidates;
+            while (remaining > 0) {
+                int i = random.nextInt(remaining);
+                int point = candidates[i];
+                int x = point % boardSize;
+                int y = point / boardSize;
+                if (!game.isEye(turn, x, y) && !game.isSuicide(turn, x, y)) {
+                    int numCaptured = playMove(turn, point);
+                    if (!isKo()) {
+                        candidates[i] = candidates[remaining - 1];
+                        candidates[remaining - 1] = candidates[numCandidates - 1];
+                        numCandidates--;
+                        for (int j = 0; j < numCaptured; j++) {
+                            candidates[numCandidates++] = game.getCaptured(j) - 1;
+                        }
+                        return true;
+                    }
+                    game.undo();
+                    numMoves--;
+                }
+                candidates[i] = candidates[remaining - 1];
+                candidates[remaining - 1] = point;
+                remaining--;
+            }
+            return false;
+        }
+
+        /**
+         * Checks if the last move recreated the position before the previous move, so ko fights do not keep a
+         * playout going until its maximum length
+         */
+        private boolean isKo() {
+            return numMoves >= 2 && game.getBoard().getHash() == moveHashes[numMoves - 2];
+        }
+
+        private int playMove(Stone mover, int point) {
+            if (numMoves == movePoints.length) {
+                movePoints = Arrays.copyOf(movePoints, numMoves * 2);
+                moveOrdinals = Arrays.copyOf(moveOrdinals, numMoves * 2);
+                moveHashes = Arrays.copyOf(moveHashes, numMoves * 2);
+            }
+            moveHashes[numMoves] = game.getBoard().getHash();
+            int numCaptured = 0;
+            if (point == PASS) {
+                game.playPass();
+            }
+            else {
+                numCaptured = game.play(mover, point % boardSize, point / boardSize);
+            }
+            movePoints[numMoves] = point;
+            moveOrdinals[numMoves] = mover.ordinal();
+            numMoves++;
+            return numCaptured;
+        }
+
+        private int winner() {
+            int winner = DRAW;
+            int bestScore = Integer.MIN_VALUE;
+            for (Player player : game.getPlayers()) {
+                int score = game.getScore(player.getStone());
+                if (score > bestScore) {
+                    bestScore = score;
+                    winner = player.getStone().ordinal();
+                }
+                else if (score == bestScore) {
+                    winner = DRAW;
+                }
+            }
+            return winner;
+        }
+
+        private int reward(Stone mover, int winner) {
+            if (winner == DRAW) {
+                return 1;
+            }
+            return mover.ordinal() == winner ? 2 : 0;
+        }
+
+        /**
+         * All-moves-as-first update: a child of a node on the path gets the result of this game if its move was
+         * played later on by the same Stone
+         */
+        private void updateRave(int depth, int winner) {
+            int moveIndex = numMoves - 1;
+            for (int i = depth; i >= 0; i--) {
+                while (moveIndex >= i) {
+                    if (movePoints[moveIndex] != PASS) {
+                        firstOrdinal[movePoints[moveIndex]] = moveOrdinals[moveIndex];
+                    }
+                    moveIndex--;
+                }
+                Node[] children = path[i].children;
+                if (children != null) {
+                    for (Node child : children) {
+                        if (child.move != PASS && firstOrdinal[child.move] == child.mover.ordinal()) {
+                            Node.RAVE_VISITS.incrementAndGet(child);
+                            Node.RAVE_WINS.addAndGet(child, reward(child.mover, winner));
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < numMoves; i++) {
+                if (movePoints[i] != PASS) {
+                    firstOrdinal[movePoints[i]] = -1;
+                }
+            }
+        }
+    }
+}
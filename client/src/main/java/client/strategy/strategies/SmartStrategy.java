@@ -5,8 +5,11 @@ import game.Game;
 import game.Player;
 import helper.enums.Stone;
 import client.strategy.Strategy;
+import client.strategy.TranspositionTable;
 import java.util.Random;
 
+import static client.strategy.TranspositionTable.Kind.*;
+
 /**
  * This class represents the smart strategy that is used to play the game
  * @author Mark Banierink
@@ -15,8 +18,6 @@ public class SmartStrategy extends Strategy {
 
     private static final int RIDGE_RATIO = 5;
 
-    private Game game;
-    private Stone stone;
     private int maxCalculationTime;
     private Client client;
     private long maxTime;
@@ -24,8 +25,6 @@ public class SmartStrategy extends Strategy {
 
     public SmartStrategy(Game game, Stone stone, int maxCalculationTime, Client client) {
         super(game, stone, maxCalculationTime, client);
-        this.game = game;
-        this.stone = stone;
         this.maxCalculationTime = maxCalculationTime;
         this.client = client;
         maxTime = System.currentTimeMillis() + maxCalculationTime;
@@ -34,14 +33,14 @@ public class SmartStrategy extends Strategy {
 
     @Override
     protected int[] createMove() {
-        int[] move;
-        if (offensiveIsEffective()) {
+        int[] move = storedMove(SCORE, scoreKey());
+        if (move[0] == -1) {
             move = offensiveMove();
         }
-        else if (defensiveIsEffective()) {
+        if (move[0] == -1) {
             move = defensiveMove();
         }
-        else {
+        if (move[0] == -1) {
             move = randomMove();
         }
         return move;
@@ -51,32 +50,29 @@ public class SmartStrategy extends Strategy {
         return (new RandomStrategy(game, stone, maxCalculationTime, client).createMove());
     }
 
-    private boolean offensiveIsEffective() {
-        return offensiveMove()[0] != -1;
-    }
-
     private int[] offensiveMove() {
         int[] move = new int[]{-1, -1};
         int field = 1;
         int boardSize = (int)Math.pow(game.getBoard().getBoardSize(), 2);
+        int currentScore = relativeScore(game);
         while (field <= boardSize && System.currentTimeMillis() < maxTime) {
             int[] xy = game.indexToXY(field);
             if (game.isValidMove(stone, xy[0], xy[1])) {
-                Game futureGame = game.copyThisGame();
-                futureGame.move(stone, xy[0], xy[1]);
-                if (relativeScore(futureGame) > relativeScore(game) + 1) {
+                game.play(stone, xy[0], xy[1]);
+                if (cachedScore() > currentScore + 1) {
                     move = xy;
                 }
+                game.undo();
             }
             field++;
         }
+        if (move[0] != -1) {
+            int bestMove = move[1] * game.getBoard().getBoardSize() + move[0];
+            transpositionTable.store(SCORE, scoreKey(), currentScore, 1, bestMove);
+        }
         return move;
     }
 
-    private boolean defensiveIsEffective() {
-        return defensiveMove()[0] != -1;
-    }
-
     private int[] defensiveMove() {
         int[] move = new int[]{-1, -1};
         int tryCounter = 0;
@@ -118,6 +114,25 @@ public class SmartStrategy extends Strategy {
         return position;
     }
 
+    /**
+     * Returns the key of the current position for the scores of this strategy, which are relative to its own Stone
+     * whichever Stone is to move
+     */
+    private long scoreKey() {
+        return TranspositionTable.perspective(game.getHash(), stone);
+    }
+
+    private int cachedScore() {
+        long key = scoreKey();
+        long entry = transpositionTable.probe(SCORE, key);
+        if (entry != TranspositionTable.MISSING) {
+            return (int)TranspositionTable.value(entry);
+        }
+        int score = relativeScore(game);
+        transpositionTable.store(SCORE, key, score, 1, TranspositionTable.NO_MOVE);
+        return score;
+    }
+
     private int relativeScore(Game futureGame) {
         int totalScore = 0;
         for (Player player : futureGame.getPlayers()) {
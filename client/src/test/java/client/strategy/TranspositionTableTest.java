@@ -0,0 +1,73 @@
+package client.strategy;
+
+import org.junit.jupiter.api.*;
+
+import static client.strategy.TranspositionTable.Kind.*;
+import static helper.enums.Stone.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class TranspositionTableTest {
+
+    private TranspositionTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new TranspositionTable(4);
+    }
+
+    @Test
+    void testStoreProbe() {
+        assertEquals(TranspositionTable.MISSING, table.probe(SCORE, 12345L));
+        table.store(SCORE, 12345L, 0.75f, 10, 40);
+        long entry = table.probe(SCORE, 12345L);
+        assertEquals(0.75f, TranspositionTable.value(entry));
+        assertEquals(10, TranspositionTable.visits(entry));
+        assertEquals(40, TranspositionTable.bestMove(entry));
+        assertEquals(TranspositionTable.MISSING, table.probe(SCORE, 54321L));
+    }
+
+    @Test
+    void testPassAndNoMove() {
+        table.store(SCORE, 1L, -3f, 0, -1);
+        assertEquals(-1, TranspositionTable.bestMove(table.probe(SCORE, 1L)));
+        assertEquals(1, TranspositionTable.visits(table.probe(SCORE, 1L)));
+        table.store(SCORE, 1L, -3f, 100000, TranspositionTable.NO_MOVE);
+        assertEquals(TranspositionTable.NO_MOVE, TranspositionTable.bestMove(table.probe(SCORE, 1L)));
+        assertEquals(0xFFFF, TranspositionTable.visits(table.probe(SCORE, 1L)));
+    }
+
+    @Test
+    void testReplacement() {
+        long key = 0L;
+        long sameBucket = 2L;                                                   // Two buckets, so keys 0 and 2 collide
+        long thirdKey = 4L;
+        table.store(SCORE, key, 0.5f, 100, 1);
+        table.store(SCORE, sameBucket, 0.5f, 5, 2);
+        assertEquals(100, TranspositionTable.visits(table.probe(SCORE, key)));
+        assertEquals(5, TranspositionTable.visits(table.probe(SCORE, sameBucket)));
+        table.store(SCORE, thirdKey, 0.5f, 6, 3);
+        assertEquals(100, TranspositionTable.visits(table.probe(SCORE, key)));
+        assertEquals(TranspositionTable.MISSING, table.probe(SCORE, sameBucket));
+        assertEquals(6, TranspositionTable.visits(table.probe(SCORE, thirdKey)));
+    }
+
+    @Test
+    void testKinds() {
+        table.store(SCORE, 7L, -3f, 5, 5);
+        assertEquals(TranspositionTable.MISSING, table.probe(WIN_RATE, 7L));
+        table.store(WIN_RATE, 7L, 0.25f, 1, 6);
+        assertEquals(-3f, TranspositionTable.value(table.probe(SCORE, 7L)));
+        assertEquals(0.25f, TranspositionTable.value(table.probe(WIN_RATE, 7L)));
+    }
+
+    @Test
+    void testPerspective() {
+        table.store(SCORE, TranspositionTable.perspective(7L, BLACK), 3f, 1, 5);
+        assertEquals(TranspositionTable.MISSING, table.probe(SCORE, TranspositionTable.perspective(7L, WHITE)));
+        assertEquals(TranspositionTable.MISSING, table.probe(SCORE, 7L));
+        assertEquals(3f, TranspositionTable.value(table.probe(SCORE, TranspositionTable.perspective(7L, BLACK))));
+    }
+}
@@ -0,0 +1,49 @@
+package client.strategy.strategies;
+
+import game.Game;
+import game.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static helper.enums.Stone.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the Monte Carlo Tree Search strategy
+ * @author Mark Banierink
+ */
+class MonteCarloStrategyTest {
+
+    private static final int CALCULATION_TIME = 300;
+    private static final long TOLERANCE = 50;                                   // For garbage collection and scheduling
+
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game(5, 1, 2);
+        game.addPlayer(new Player("black"), BLACK);
+        game.addPlayer(new Player("white"), WHITE);
+    }
+
+    @Test
+    void testLegalMoveInTime() {
+        game.move(BLACK, 2, 2);
+        game.move(WHITE, 3, 2);
+        long start = System.currentTimeMillis();
+        int[] move = new MonteCarloStrategy(game, BLACK, CALCULATION_TIME, null).createMove();
+        assertTrue(System.currentTimeMillis() - start <= CALCULATION_TIME + TOLERANCE);
+        assertTrue(game.isValidMove(BLACK, move[0], move[1]));
+    }
+
+    @Test
+    void testCapture() {
+        int[][] moves = {{0, 1}, {0, 2}, {1, 1}, {1, 2}, {2, 1}, {2, 2},
+                {0, 3}, {4, 4}, {1, 3}, {4, 0}, {2, 3}, {0, 0}};
+        for (int i = 0; i < moves.length; i++) {
+            game.move(i % 2 == 0 ? BLACK : WHITE, moves[i][0], moves[i][1]);
+        }
+        int[] move = new MonteCarloStrategy(game, BLACK, CALCULATION_TIME, null).createMove();
+        assertArrayEquals(new int[]{3, 2}, move);                               // Takes the three white stones
+    }
+}
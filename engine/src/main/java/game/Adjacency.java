@@ -0,0 +1,52 @@
+package game;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Neighbour table of a board size. The neighbours of point p (index y * boardSize + x) are stored at
+ * neighbours[p * MAX_NEIGHBOURS] up to neighbours[p * MAX_NEIGHBOURS + degree[p]]. A table is computed once per board
+ * size and shared by all games of that size, so iterating the neighbours of a point does not allocate
+ * @author Mark Banierink
+ */
+final class Adjacency {
+
+    static final int MAX_NEIGHBOURS = 4;
+
+    private static final Map<Integer, Adjacency> TABLES = new ConcurrentHashMap<>();
+
+    final int[] neighbours;
+    final int[] degree;
+
+    private Adjacency(int boardSize) {
+        int points = boardSize * boardSize;
+        neighbours = new int[points * MAX_NEIGHBOURS];
+        degree = new int[points];
+        for (int point = 0; point < points; point++) {
+            int x = point % boardSize;
+            int y = point / boardSize;
+            int offset = point * MAX_NEIGHBOURS;
+            if (y > 0) {
+                neighbours[offset + degree[point]++] = point - boardSize;
+            }
+            if (x < boardSize - 1) {
+                neighbours[offset + degree[point]++] = point + 1;
+            }
+            if (y < boardSize - 1) {
+                neighbours[offset + degree[point]++] = point + boardSize;
+            }
+            if (x > 0) {
+                neighbours[offset + degree[point]++] = point - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the shared table of a board size
+     * @param boardSize the size of the board
+     * @return the Adjacency of this board size
+     */
+    static Adjacency forSize(int boardSize) {
+        return TABLES.computeIfAbsent(boardSize, Adjacency::new);
+    }
+}
@@ -0,0 +1,164 @@
+package game;
+
+import helper.enums.Stone;
+import java.util.Arrays;
+
+import static helper.enums.Stone.*;
+
+/**
+ * The Board class represents the board on which the game is played
+ * The fields are stored as one byte per point (the ordinal of the Stone), so copying and comparing a board are plain
+ * array operations. An incremental Zobrist hash of the occupation is kept up to date by setField()
+ * @author Mark Banierink
+ */
+public class Board {
+
+    private static final Stone[] STONES = Stone.values();
+
+    private int boardSize;
+    private byte[] fields;
+    private int[] stoneCounts;
+    private long[] zobristKeys;
+    private long hash;
+
+    /**
+     * The constructor of the board
+     * @param boardSize integer representing the board size
+     */
+    public Board(int boardSize) {
+        this.boardSize = boardSize;
+        fields = new byte[boardSize * boardSize];
+        stoneCounts = new int[STONES.length];
+        zobristKeys = Zobrist.keys(boardSize);
+        clearBoard();
+    }
+
+    private Board(Board board) {
+        boardSize = board.boardSize;
+        fields = board.fields.clone();
+        stoneCounts = board.stoneCounts.clone();
+        zobristKeys = board.zobristKeys;
+        hash = board.hash;
+    }
+
+    private void clearBoard() {
+        Arrays.fill(fields, (byte)EMPTY.ordinal());
+        Arrays.fill(stoneCounts, 0);
+        stoneCounts[EMPTY.ordinal()] = fields.length;
+        hash = 0L;
+    }
+
+    protected boolean isEmpty(int x, int y) {
+        return (getField(x, y) == EMPTY);
+    }
+
+    public Stone getField(int x, int y) {
+        Stone result = null;
+        if (isValidField(x, y)) {
+            result = STONES[fields[toPoint(x, y)]];
+        }
+        return result;
+    }
+
+    protected boolean isValidField(int x, int y) {
+        return ((x >= 0 && x < boardSize) && (y >= 0 && y < boardSize));
+    }
+
+    private int toPoint(int x, int y) {
+        return y * boardSize + x;
+    }
+
+    /**
+     * returns the size of this board
+     * @return integer with the board size
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Returns the number of fields occupied by the given Stone
+     * @param stone the Stone to count, EMPTY counts the free fields
+     * @return integer with the number of fields
+     */
+    public int countStones(Stone stone) {
+        return stoneCounts[stone.ordinal()];
+    }
+
+    /**
+     * Checks if no stone has been placed on this board
+     * @return true if all fields are empty
+     */
+    public boolean isEmptyBoard() {
+        return countStones(EMPTY) == fields.length;
+    }
+
+    protected Board setField(int x, int y, Stone stone) {
+        if (isValidField(x, y)) {
+            setOrdinal(toPoint(x, y), stone.ordinal());
+        }
+        return this;
+    }
+
+    int getOrdinal(int point) {
+        return fields[point];
+    }
+
+    void setOrdinal(int point, int ordinal) {
+        stoneCounts[fields[point]]--;
+        hash ^= zobristKeys[Zobrist.keyIndex(point, fields[point])] ^ zobristKeys[Zobrist.keyIndex(point, ordinal)];
+        fields[point] = (byte)ordinal;
+        stoneCounts[ordinal]++;
+    }
+
+    /**
+     * Returns the Zobrist hash of the current occupation. Equal boards have equal hashes, different boards have
+     * different hashes with a very high probability
+     * @return long with the hash of this board
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    public void setFieldEmpty(int x, int y) {
+        setField(x, y, EMPTY);
+    }
+
+    protected Board boardCopy() {
+        return new Board(this);
+    }
+
+    /**
+     * This method compares two board instances. It overrides the original equals method
+     * @param object The Board object that it compares this object with
+     * @return True if both Board instances contain the same occupation, False if not
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == null) {
+            return false;
+        }
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof Board)) {
+            return false;
+        }
+        Board board = (Board)object;
+        if (boardSize != board.getBoardSize()) {
+            return false;
+        }
+        else {
+            return hash == board.hash && Arrays.equals(fields, board.fields);
+        }
+    }
+
+    /**
+     * Overrides the hashCode method
+     * @return hashCode
+     */
+    @Override
+    public int hashCode() {
+        return 31 * boardSize + Long.hashCode(hash);
+    }
+}
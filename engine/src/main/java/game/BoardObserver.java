@@ -0,0 +1,31 @@
+package game;
+
+import helper.enums.Stone;
+
+/**
+ * A BoardObserver follows what happens on the board of a Game, for example to show it. A Game has no observers unless
+ * they are added, so the engine itself never shows anything. The observers are called by the thread that changes the
+ * game.
+ * @author Mark Banierink
+ */
+public interface BoardObserver {
+
+    /**
+     * Called once when the observer is added to a Game
+     * @param boardSize the size of the board
+     */
+    void boardStarted(int boardSize);
+
+    void stonePlaced(int x, int y, Stone stone);
+
+    void stoneRemoved(int x, int y);
+
+    void hintShown(int x, int y);
+
+    void hintRemoved();
+
+    /**
+     * Called when the Game is closed; the observer gets no calls after this
+     */
+    void gameClosed();
+}
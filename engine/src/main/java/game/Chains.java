@@ -0,0 +1,326 @@
+package game;
+
+import java.util.Arrays;
+
+import static helper.enums.Stone.*;
+
+/**
+ * Keeps track of the chains of connected stones on a Board. Stones are joined in a union-find structure (union by
+ * size), every chain keeps a circular list of its stones and a pseudo-liberty count: the number of (stone, empty
+ * neighbour) pairs. A chain has no liberties exactly when this count is zero, so placing a stone only touches the
+ * chains next to it.
+ * Every write (also to the Board) is recorded on a trail, so plays can be taken back with undo(). For that reason
+ * find() does not compress paths; union by size keeps the trees shallow
+ * @author Mark Banierink
+ */
+class Chains {
+
+    private static final int EMPTY_ORDINAL = EMPTY.ordinal();
+    private static final int DEFAULT_TRAIL_CAPACITY = 64;
+
+    private Board board;
+    private long[] zobristKeys;
+    private int[] adjacent;
+    private int[] degree;
+    private int[] parent;
+    private int[] size;
+    private int[] liberties;
+    private int[] next;
+    private int[] captured;
+    private int numCaptured;
+    private int[][] trailArrays = new int[DEFAULT_TRAIL_CAPACITY][];
+    private int[] trailIndices = new int[DEFAULT_TRAIL_CAPACITY];
+    private int[] trailValues = new int[DEFAULT_TRAIL_CAPACITY];
+    private int trailSize;
+
+    /**
+     * Constructor of the chains of an empty board
+     * @param board the Board the stones are placed on
+     */
+    Chains(Board board) {
+        this.board = board;
+        int boardSize = board.getBoardSize();
+        zobristKeys = Zobrist.keys(boardSize);
+        Adjacency adjacency = Adjacency.forSize(boardSize);
+        adjacent = adjacency.neighbours;
+        degree = adjacency.degree;
+        int points = boardSize * boardSize;
+        parent = new int[points];
+        size = new int[points];
+        liberties = new int[points];
+        next = new int[points];
+        captured = new int[points];
+    }
+
+    private Chains(Chains chains, Board board) {
+        this.board = board;
+        zobristKeys = chains.zobristKeys;
+        adjacent = chains.adjacent;
+        degree = chains.degree;
+        parent = chains.parent.clone();
+        size = chains.size.clone();
+        liberties = chains.liberties.clone();
+        next = chains.next.clone();
+        captured = new int[chains.captured.length];
+    }
+
+    /**
+     * Copies the chains for a copy of the board
+     * @param board the copy of the Board these chains belong to
+     * @return a new Chains instance with the same chains
+     */
+    Chains copy(Board board) {
+        return new Chains(this, board);
+    }
+
+    /**
+     * Places a stone, merges it with the neighbouring chains of the same stone and removes the chains that are left
+     * without liberties: first those of the other stones, then the own chain
+     * @param point the index (y * boardSize + x) of the empty field
+     * @param ordinal the ordinal of the Stone that is placed
+     * @return the number of captured stones, which can be read with getCaptured()
+     */
+    int play(int point, int ordinal) {
+        numCaptured = 0;
+        setOrdinal(point, ordinal);
+        write(parent, point, point);
+        write(size, point, 1);
+        write(next, point, point);
+        int numLiberties = 0;
+        int first = point * Adjacency.MAX_NEIGHBOURS;
+        int end = first + degree[point];
+        for (int i = first; i < end; i++) {
+            int neighbour = adjacent[i];
+            if (board.getOrdinal(neighbour) == EMPTY_ORDINAL) {
+                numLiberties++;
+            }
+            else {
+                int root = find(neighbour);
+                write(liberties, root, liberties[root] - 1);
+            }
+        }
+        write(liberties, point, numLiberties);
+        for (int i = first; i < end; i++) {
+            if (board.getOrdinal(adjacent[i]) == ordinal) {
+                union(point, adjacent[i]);
+            }
+        }
+        for (int i = first; i < end; i++) {
+            int neighbourOrdinal = board.getOrdinal(adjacent[i]);
+            if (neighbourOrdinal != EMPTY_ORDINAL && neighbourOrdinal != ordinal && !hasLiberties(adjacent[i])) {
+                capture(find(adjacent[i]));
+            }
+        }
+        if (!hasLiberties(point)) {
+            capture(find(point));
+        }
+        return numCaptured;
+    }
+
+    /**
+     * Checks without playing if placing a stone would remove its own chain. That is the case if the point has no
+     * empty neighbours, no neighbouring chain of another stone is captured and every neighbouring chain of the same
+     * stone has its last liberty on this point
+     * @param point the index of the empty field
+     * @param ordinal the ordinal of the Stone that would be placed
+     * @return true if the stone would be captured immediately
+     */
+    boolean isSuicide(int point, int ordinal) {
+        int first = point * Adjacency.MAX_NEIGHBOURS;
+        int end = first + degree[point];
+        for (int i = first; i < end; i++) {
+            if (board.getOrdinal(adjacent[i]) == EMPTY_ORDINAL) {
+                return false;
+            }
+        }
+        for (int i = first; i < end; i++) {
+            int root = find(adjacent[i]);
+            int adjacencies = 0;                                                // Pseudo-liberties of this chain here
+            for (int j = first; j < end; j++) {
+                if (find(adjacent[j]) == root) {
+                    adjacencies++;
+                }
+            }
+            boolean ownChain = board.getOrdinal(adjacent[i]) == ordinal;
+            if ((ownChain && liberties[root] > adjacencies) || (!ownChain && liberties[root] == adjacencies)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculates the hash the board would have after placing a stone, without playing it: the stone is added, the
+     * neighbouring chains of other stones that lose their last liberty are removed and, for a suicide, so is the own
+     * chain
+     * @param point the index of the empty field
+     * @param ordinal the ordinal of the Stone that would be placed
+     * @return long with the Zobrist hash of the resulting board
+     */
+    long probeHash(int point, int ordinal) {
+        long hash = board.getHash() ^ zobristKeys[Zobrist.keyIndex(point, ordinal)];
+        boolean suicide = isSuicide(point, ordinal);
+        if (suicide) {
+            hash ^= zobristKeys[Zobrist.keyIndex(point, ordinal)];
+        }
+        int first = point * Adjacency.MAX_NEIGHBOURS;
+        int end = first + degree[point];
+        for (int i = first; i < end; i++) {
+            int neighbourOrdinal = board.getOrdinal(adjacent[i]);
+            if (neighbourOrdinal == EMPTY_ORDINAL || (neighbourOrdinal == ordinal && !suicide)) {
+                continue;
+            }
+            int root = find(adjacent[i]);
+            int adjacencies = 0;
+            boolean seen = false;
+            for (int j = first; j < end; j++) {
+                if (board.getOrdinal(adjacent[j]) != EMPTY_ORDINAL && find(adjacent[j]) == root) {
+                    seen |= j < i;
+                    adjacencies++;
+                }
+            }
+            if (!seen && (neighbourOrdinal == ordinal || liberties[root] == adjacencies)) {
+                hash ^= chainHash(root, neighbourOrdinal);
+            }
+        }
+        return hash;
+    }
+
+    private long chainHash(int root, int ordinal) {
+        long hash = 0L;
+        int point = root;
+        do {
+            hash ^= zobristKeys[Zobrist.keyIndex(point, ordinal)];
+            point = next[point];
+        } while (point != root);
+        return hash;
+    }
+
+    /**
+     * Returns a stone captured by the last call of play()
+     * @param i integer between 0 (inclusive) and the number of captured stones (exclusive)
+     * @return the index of the captured stone
+     */
+    int getCaptured(int i) {
+        return captured[i];
+    }
+
+    /**
+     * Checks if the chain of the stone on a point has at least one liberty
+     * @param point the index of an occupied field
+     * @return true if the chain has a liberty
+     */
+    boolean hasLiberties(int point) {
+        return liberties[find(point)] > 0;
+    }
+
+    /**
+     * Returns the number of stones in the chain of the stone on a point
+     * @param point the index of an occupied field
+     * @return integer with the chain size
+     */
+    int chainSize(int point) {
+        return size[find(point)];
+    }
+
+    /**
+     * Returns the current position on the trail
+     * @return integer that can be passed to undo()
+     */
+    int mark() {
+        return trailSize;
+    }
+
+    /**
+     * Takes back all writes made after the mark, including those to the Board
+     * @param mark a value returned by mark()
+     */
+    void undo(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            int[] array = trailArrays[trailSize];
+            if (array == null) {
+                board.setOrdinal(trailIndices[trailSize], trailValues[trailSize]);
+            }
+            else {
+                array[trailIndices[trailSize]] = trailValues[trailSize];
+                trailArrays[trailSize] = null;
+            }
+        }
+    }
+
+    /**
+     * Forgets the trail, so the plays so far can no longer be taken back
+     */
+    void commit() {
+        Arrays.fill(trailArrays, 0, trailSize, null);
+        trailSize = 0;
+    }
+
+    private void write(int[] array, int index, int value) {
+        record(array, index, array[index]);
+        array[index] = value;
+    }
+
+    private void setOrdinal(int point, int ordinal) {
+        record(null, point, board.getOrdinal(point));
+        board.setOrdinal(point, ordinal);
+    }
+
+    private void record(int[] array, int index, int value) {
+        if (trailSize == trailValues.length) {
+            trailArrays = Arrays.copyOf(trailArrays, trailSize * 2);
+            trailIndices = Arrays.copyOf(trailIndices, trailSize * 2);
+            trailValues = Arrays.copyOf(trailValues, trailSize * 2);
+        }
+        trailArrays[trailSize] = array;
+        trailIndices[trailSize] = index;
+        trailValues[trailSize] = value;
+        trailSize++;
+    }
+
+    private int find(int point) {
+        while (parent[point] != point) {
+            point = parent[point];
+        }
+        return point;
+    }
+
+    private void union(int point, int otherPoint) {
+        int root = find(point);
+        int otherRoot = find(otherPoint);
+        if (root == otherRoot) {
+            return;
+        }
+        if (size[root] < size[otherRoot]) {
+            int swap = root;
+            root = otherRoot;
+            otherRoot = swap;
+        }
+        write(parent, otherRoot, root);
+        write(size, root, size[root] + size[otherRoot]);
+        write(liberties, root, liberties[root] + liberties[otherRoot]);
+        int swap = next[root];                                                  // Splice the two circular lists
+        write(next, root, next[otherRoot]);
+        write(next, otherRoot, swap);
+    }
+
+    private void capture(int root) {
+        int first = numCaptured;
+        int point = root;
+        do {
+            setOrdinal(point, EMPTY_ORDINAL);
+            captured[numCaptured++] = point;
+            point = next[point];
+        } while (point != root);
+        for (int i = first; i < numCaptured; i++) {                             // Liberties go back to the neighbours
+            int end = captured[i] * Adjacency.MAX_NEIGHBOURS + degree[captured[i]];
+            for (int j = captured[i] * Adjacency.MAX_NEIGHBOURS; j < end; j++) {
+                if (board.getOrdinal(adjacent[j]) != EMPTY_ORDINAL) {
+                    int neighbourRoot = find(adjacent[j]);
+                    write(liberties, neighbourRoot, liberties[neighbourRoot] + 1);
+                }
+            }
+        }
+    }
+}
@@ -1,68 +1,71 @@
 package game;
 
-import com.nedap.go.gui.GoGUIIntegrator;
 import helper.enums.Stone;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static helper.ServerClientInterface.DEFAULT_MOVES_PER_TURN;
+import static helper.ServerClientInterface.DEFAULT_PLAYERS_PER_GAME;
 import static helper.enums.Keyword.*;
 import static helper.enums.Stone.*;
 import static helper.enums.Resources.*;
-import static server.Server.DEFAULT_PLAYERS_PER_GAME;
 
 /**
- * The Game class provides the game itself. It manages the players, the board and the rules.
+ * The Game class provides the game itself. It manages the players, the board and the rules. It does not show anything
+ * itself; BoardObservers, like a GUI, can be added to follow the board.
  * @author Mark Banierink
  */
 public class Game {
 
     private static final int EARLY_ENDING_SCORE = -1;
+    private static final int UNDO_FRAME_SIZE = 4;
 
-    public List<Player> players = new ArrayList<>();                            // public for testing
+    public List<Player> players = new CopyOnWriteArrayList<>();                 // public for testing
     public Board board;                                                         // public for testing
     public Stone turn = BLACK;                                                  // public for testing
     public int turnCounter = 1;                                                 // public for testing
     public int passCounter = 0;                                                 // public for testing
     public List<Board> boardHistory = new ArrayList<>();                        // public for testing
-    public static GoGUIIntegrator goGui;                                        // public for testing
+    private LongHashSet boardHashes = new LongHashSet();
+    private Map<Long, Board> hashedBoards = new HashMap<>();                    // The board of the history per hash
     public int movesPerTurn = DEFAULT_MOVES_PER_TURN;                           // public for testing
     public int playersPerGame = DEFAULT_PLAYERS_PER_GAME;                       // public for testing
-    public Map<Stone, List<List<Integer>>> territories = new HashMap<>();       // public for testing
-    private boolean future = false;
+    private Chains chains;
+    private Scorer scorer;
+    private Adjacency adjacency;
+    private long sizeKey;
+    private int[] undoStack = new int[UNDO_FRAME_SIZE * 16];
+    private int undoSize = 0;
+    private List<BoardObserver> observers = new CopyOnWriteArrayList<>();
     private boolean hint;
 
     /**
      * Constructor of the game. Calls storeBoard() immediately to set a blank board in the board history
      * @param boardSize the size of the board on which the game is to be played
      */
-    public Game(int boardSize, int movesPerTurn, int playersPerGame, boolean future) {
+    public Game(int boardSize, int movesPerTurn, int playersPerGame) {
         board = new Board(boardSize);
-        this.future = future;
         this.movesPerTurn = movesPerTurn;
         this.playersPerGame = playersPerGame;
-        for (int i = 1; i <= getPlayersPerGame(); i++) {
-            territories.put(Stone.values()[i], new ArrayList<>());
-        }
-        startGui();
+        chains = new Chains(board);
+        scorer = new Scorer(boardSize);
+        adjacency = Adjacency.forSize(boardSize);
+        sizeKey = Zobrist.sizeKey(boardSize);
         storeBoard(board);
     }
 
-    private void startGui() {
-        if (!guiIsAvailable() && !future) {
-            goGui = new GoGUIIntegrator(true, true, board.getBoardSize());
-            goGui.startGUI();
-            //goGui.clearBoard();
-        }
-        else if (!future) {
-            goGui.setBoardSize(board.getBoardSize());
-        }
+    /**
+     * Adds a BoardObserver that follows the board from now on
+     * @param observer the BoardObserver to add
+     */
+    public void addObserver(BoardObserver observer) {
+        observers.add(observer);
+        observer.boardStarted(board.getBoardSize());
     }
 
     /**
@@ -73,21 +76,25 @@ public class Game {
         return hint;
     }
 
-    public void closeGui() {
-        if(guiIsAvailable()) {
-            goGui.stopGUI();
+    /**
+     * Closes the game for its observers, which are removed
+     */
+    public void close() {
+        for (BoardObserver observer : observers) {
+            observer.gameClosed();
         }
+        observers.clear();
     }
 
     /**
-     * Shows a hint in the GUI and sets the boolean indicator
+     * Shows a hint to the observers and sets the boolean indicator
      * @param x the x-coordinate of the hint
      * @param y the y-coordinate of the hint
      */
     public void showHint(int x, int y) {
-        if (guiIsAvailable()) {
-            hint = true;
-            goGui.addHintIndicator(x, y);
+        hint = true;
+        for (BoardObserver observer : observers) {
+            observer.hintShown(x, y);
         }
     }
 
@@ -95,16 +102,12 @@ public class Game {
      * Removes the hint from the board and resets the indicator
      */
     public void removeHint() {
-        if (guiIsAvailable()) {
-            goGui.removeHintIdicator();
+        for (BoardObserver observer : observers) {
+            observer.hintRemoved();
         }
         hint = false;
     }
 
-    private boolean guiIsAvailable() {
-        return (goGui != null && !future);
-    }
-
     public Board getBoard() {
         return board;
     }
@@ -121,6 +124,15 @@ public class Game {
         return turn;
     }
 
+    /**
+     * Returns the hash of the position: the Zobrist hash of the board combined with the Stone that is to move and the
+     * board size, as the empty board hashes to 0 on every size
+     * @return long with the hash of the position
+     */
+    public long getHash() {
+        return board.getHash() ^ Zobrist.turnKey(turn) ^ sizeKey;
+    }
+
     private int XYToIndex(int x, int y) {
         return (y * board.getBoardSize() + 1) + x;
     }
@@ -136,116 +148,6 @@ public class Game {
         return new int[] {x, y};
     }
 
-    private boolean hasChains(Stone stone) {
-        return getChains(stone) != null;
-    }
-
-    private List<List<Integer>> getChains(Stone stone) {
-        return territories.get(stone);
-    }
-
-    private boolean hasFreedom(int index) {
-        return degreesOfFreedom(index) > 0;
-    }
-
-    private int degreesOfFreedom(int index) {
-        Set<Integer> coordinates = neighbours(index);
-        int degrees = 0;
-        for (Integer coordinate : coordinates) {
-            int[] xy = indexToXY(coordinate);
-            if (board.isEmpty(xy[0], xy[1])) {
-                degrees++;
-            }
-        }
-        return degrees;
-    }
-
-    private Stone getStone(int index) {
-        return board.getField(indexToXY(index)[0], indexToXY(index)[1]);
-    }
-
-    private Set<Integer> neighbours(int index) {
-        int boardSize = board.getBoardSize();
-        int[] pos = indexToXY(index);
-        int[] coordinates = {pos[0], pos[1] - 1, pos[0] + 1, pos[1], pos[0], pos[1] + 1, pos[0] - 1, pos[1]};
-        Set<Integer> indices = new HashSet<>();
-        for (int i = 0; i < coordinates.length; i += 2) {
-            if (coordinates[i] >= 0 && coordinates[i] < boardSize && coordinates[i + 1] >= 0 && coordinates[i + 1] < boardSize) {
-                indices.add(XYToIndex(coordinates[i], coordinates[i + 1]));
-            }
-        }
-        return indices;
-    }
-
-    private List<Integer> newChain(int index) {
-        List<Integer> chain = new ArrayList<>();
-        chain.add(index);
-        return chain;
-    }
-
-    private void addNewChain(Stone stone, List<Integer> chain) {
-        getChains(stone).add(chain);
-    }
-
-    private void mergeChains(Stone stone, int index) {
-        List<Integer> newChain = newChain(index);
-        addNewChain(stone, newChain);
-        for (int neighbourIndex : neighbours(index)) {
-            Iterator<List<Integer>> iterator = getChains(stone).iterator();
-            while (iterator.hasNext()) {
-                List<Integer> chain = iterator.next();
-                if (chain.contains(neighbourIndex) && chain != newChain) {
-                    if (newChain.addAll(chain)) {
-                        iterator.remove();
-                    }
-                }
-            }
-        }
-    }
-
-    private void updateGame(Stone stone, int x, int y) {
-        mergeChains(stone, XYToIndex(x, y));
-        for (Stone listedStone : territories.keySet()) {
-            if (!listedStone.equals(stone)) {
-                updatePositions(listedStone);
-            }
-        }
-        updatePositions(stone);
-    }
-
-    private void updatePositions(Stone stone) {
-        if (hasChains(stone)) {
-            Iterator<List<Integer>> iterator = getChains(stone).iterator();
-            while (iterator.hasNext()) {
-                List<Integer> chain = iterator.next();
-                if (!hasDegreesOfFreedom(chain)) {
-                    captureChain(chain);
-                    iterator.remove();
-                }
-            }
-        }
-    }
-
-    private void captureChain(List<Integer> chain) {
-        for (Integer index : chain) {
-            removeStone(indexToXY(index)[0], indexToXY(index)[1]);
-        }
-    }
-
-    private boolean hasDegreesOfFreedom(List<Integer> chain) {
-        return chainDegreesOfFreedom(chain) > 0;
-    }
-
-    private int chainDegreesOfFreedom(List<Integer> chain) {
-        int degrees = 0;
-        for (Integer index : chain) {
-            if (hasFreedom(index)) {
-                degrees++;
-            }
-        }
-        return degrees;
-    }
-
     /**
      * returns the list of Players
      * @return List with Player objects
@@ -258,7 +160,7 @@ public class Game {
      * Determines the maximum amount of players, based on the amount of available stones
      * @return int with the max amount of players
      */
-    private int getPlayersPerGame() {
+    public int getPlayersPerGame() {
         return playersPerGame;
     }
 
@@ -270,10 +172,6 @@ public class Game {
         return stone.equals(turn);
     }
 
-    private static boolean stone2bool(Stone stone) {
-        return stone.equals(WHITE);
-    }
-
     /**
      * Adds a player to the list of players and assigns a given Stone to it
      * @param player to add
@@ -324,23 +222,23 @@ public class Game {
 
     private void nextTurn() {
         storeBoard(board);
+        advanceTurn();
+    }
+
+    private void advanceTurn() {
         if (turnCounter % movesPerTurn == 0) {
             turn = turn.nextStone(numPlayers());
         }
         turnCounter++;
     }
 
-    private void placeStone(int x, int y, Stone stone) {
-        board.setField(x, y, stone);
-        if (guiIsAvailable()) {
-            goGui.addStone(x, y, stone2bool(stone));
-        }
-    }
-
-    private void removeStone(int x, int y) {
-        board.setFieldEmpty(x, y);
-        if (guiIsAvailable()) {
-            goGui.removeStone(x, y);
+    private void showMove(int x, int y, Stone stone, int numCaptured) {
+        for (BoardObserver observer : observers) {
+            observer.stonePlaced(x, y, stone);
+            for (int i = 0; i < numCaptured; i++) {
+                int point = chains.getCaptured(i);
+                observer.stoneRemoved(point % board.getBoardSize(), point / board.getBoardSize());
+            }
         }
     }
 
@@ -353,6 +251,7 @@ public class Game {
             resetPassCounter();
         }
         increasePassCounter();
+        commit();
         if (isFinished()) {
             return endString(false);
         }
@@ -414,56 +313,91 @@ public class Game {
     }
 
     private int getStoneScore(Stone stone) {
-        int stones = 0;
-        for (List<Integer> chains : getChains(stone)) {
-            stones += chains.size();
-        }
-        return stones;
+        return board.countStones(stone);
     }
 
     private int getTerritoryScore(Stone stone) {
-        int boardIndexSize = board.getBoardSize() * board.getBoardSize();
-        Set<Integer> allChainIndices = new HashSet<>();
-        int score = 0;
-        for (int i = 1; i <= boardIndexSize; i++) {
-            if (!allChainIndices.contains(i) && getStone(i).equals(EMPTY)) {
-                Set<Integer> chain = new HashSet<>();
-                chain.add(i);
-                chain = increaseChain(i, chain, stone);
-                allChainIndices.addAll(chain);
-                if (!chain.contains(-1) && chain.size() > 0) {
-                    score += chain.size();
-                }
-            }
-        }
-        return score;
-    }
-
-    private Set<Integer> increaseChain(int index, Set<Integer> chain, Stone stone) {
-        for (Integer coordinate : neighbours(index)) {
-            if (!getStone(coordinate).equals(EMPTY) && !getStone(coordinate).equals(stone)) {
-                chain.add(-1);
-            }
-            else if (getStone(coordinate).equals(EMPTY) && !chain.contains(coordinate)) {
-                chain.add(coordinate);
-                increaseChain(coordinate, chain, stone);
-            }
-        }
-        return chain;
+        return scorer.getTerritory(board, stone);
     }
 
     /**
-     * Places a Stone on the board and the GUI and changes the turn
+     * Places a Stone on the board, shows it to the observers and changes the turn. The move is stored in the board
+     * history and can not be taken back with undo()
      * @param stone of the Player that is moving
      * @param x integer of the x coordinate of the position the Stone is placed
      * @param y integer of the y coordinate of the position the Stone is placed
      */
     public void move(Stone stone, int x, int y) {
-        placeStone(x, y, stone);
-        updateGame(stone, x, y);
-        resetPassCounter();
+        int numCaptured = play(stone, x, y);
+        commit();
+        showMove(x, y, stone, numCaptured);
         storeBoard(board);
-        nextTurn();
+    }
+
+    /**
+     * Places a Stone on the board in place and changes the turn, without storing the board in the history or showing
+     * it to the observers. Every play can be taken back with undo(), so candidate moves can be tried without copying
+     * the game
+     * @param stone of the Player that is moving
+     * @param x integer of the x coordinate of an empty field
+     * @param y integer of the y coordinate of an empty field
+     * @return the number of captured stones
+     */
+    public int play(Stone stone, int x, int y) {
+        pushUndoFrame();
+        int numCaptured = chains.play(XYToIndex(x, y) - 1, stone.ordinal());
+        resetPassCounter();
+        advanceTurn();
+        return numCaptured;
+    }
+
+    /**
+     * Returns a stone that was captured by the last play
+     * @param i integer between 0 (inclusive) and the number of captured stones returned by play() (exclusive)
+     * @return the index of the captured stone, between 1 and the number of board positions (both inclusive)
+     */
+    public int getCaptured(int i) {
+        return chains.getCaptured(i) + 1;
+    }
+
+    /**
+     * Passes in place, the counterpart of play() for a pass. The pass is not stored in the board history and can be
+     * taken back with undo()
+     */
+    public void playPass() {
+        pushUndoFrame();
+        if (turn == Stone.values()[1]) {
+            resetPassCounter();
+        }
+        increasePassCounter();
+        advanceTurn();
+    }
+
+    /**
+     * Takes back the last play or playPass
+     */
+    public void undo() {
+        undoSize -= UNDO_FRAME_SIZE;
+        chains.undo(undoStack[undoSize]);
+        turn = Stone.values()[undoStack[undoSize + 1]];
+        turnCounter = undoStack[undoSize + 2];
+        passCounter = undoStack[undoSize + 3];
+    }
+
+    private void pushUndoFrame() {
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+        }
+        undoStack[undoSize] = chains.mark();
+        undoStack[undoSize + 1] = turn.ordinal();
+        undoStack[undoSize + 2] = turnCounter;
+        undoStack[undoSize + 3] = passCounter;
+        undoSize += UNDO_FRAME_SIZE;
+    }
+
+    private void commit() {
+        chains.commit();
+        undoSize = 0;
     }
 
     /**
@@ -483,6 +417,36 @@ public class Game {
         return isTurn(stone);
     }
 
+    /**
+     * Checks if an empty field is an eye of a Stone, meaning all its neighbours are stones of that colour
+     * @param stone the Stone to check the eye for
+     * @param x integer of the x coordinate of the field
+     * @param y integer of the y coordinate of the field
+     * @return true if the field is enclosed by the Stone only
+     */
+    public boolean isEye(Stone stone, int x, int y) {
+        int point = XYToIndex(x, y) - 1;
+        int first = point * Adjacency.MAX_NEIGHBOURS;
+        int end = first + adjacency.degree[point];
+        for (int i = first; i < end; i++) {
+            if (board.getOrdinal(adjacency.neighbours[i]) != stone.ordinal()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if placing a Stone on an empty field would immediately remove the own chain, without playing it
+     * @param stone the Stone that would be placed
+     * @param x integer of the x coordinate of the empty field
+     * @param y integer of the y coordinate of the empty field
+     * @return true if the move is a suicide
+     */
+    public boolean isSuicide(Stone stone, int x, int y) {
+        return chains.isSuicide(XYToIndex(x, y) - 1, stone.ordinal());
+    }
+
     public boolean isValidMove(Stone stone, int x, int y) {
         return checkMoveValidity(stone, x, y).equals(VALID.toString());
     }
@@ -505,64 +469,56 @@ public class Game {
         else if (!board.isEmpty(x, y)) {                                       // Check if the desired position is free
             result = NOT_FREE_FIELD.toString();
         }
-        else {
-            Game futureGame = copyThisGame();
-            futureGame.move(stone, x, y);
-            if (boardExists(futureGame.getBoard())) {                           // Check if it doesn't match a previous situation
-                result = KO.toString();
-            }
+        else if (repeatsBoard(stone, XYToIndex(x, y) - 1)) {                   // Check if it is no previous situation
+            result = KO.toString();
         }
         return result;
     }
 
-    private void storeBoard(Board board) {
-        setBoardHistory(board.boardCopy());
-    }
-
-    private List<Integer> copyIntegerList(List<Integer> list) {
-        List<Integer> newList = new ArrayList<>();
-        for (Integer index : list) {
-            newList.add(index);
-        }
-        return newList;
-    }
-
-    private List<List<Integer>> copyListList (List<List<Integer>> list) {
-        List<List<Integer>> newList = new ArrayList<>();
-        for (List chain : list) {
-            newList.add(copyIntegerList(chain));
+    /**
+     * Checks if placing a Stone would repeat a board of the history. The game itself is only read: the hash of the
+     * resulting board is calculated and only when it is known the move is played on a copy, which is compared with
+     * the one board of the history that has this hash
+     */
+    private boolean repeatsBoard(Stone stone, int point) {
+        if (!boardHashes.contains(chains.probeHash(point, stone.ordinal()))) {
+            return false;
         }
-        return newList;
+        Board futureBoard = board.boardCopy();
+        chains.copy(futureBoard).play(point, stone.ordinal());
+        return boardExists(futureBoard);
     }
 
-    private Map<Stone, List<List<Integer>>> copyMap (Map<Stone, List<List<Integer>>> map) {
-        Map<Stone, List<List<Integer>>> newTerritories = new HashMap<>();
-        for (Stone stone : map.keySet()) {
-            newTerritories.put(stone, copyListList(map.get(stone)));
+    private void storeBoard(Board board) {
+        Board historicBoard = board.boardCopy();
+        setBoardHistory(historicBoard);
+        if (boardHashes.add(historicBoard.getHash())) {
+            hashedBoards.put(historicBoard.getHash(), historicBoard);
         }
-        return newTerritories;
     }
 
     public Game copyThisGame() {
-        Game futureGame = new Game(board.getBoardSize(), movesPerTurn, playersPerGame, true);
+        Game futureGame = new Game(board.getBoardSize(), movesPerTurn, playersPerGame);
         futureGame.players.addAll(players);
         futureGame.turn = turn;
         futureGame.board = board.boardCopy();
         futureGame.turnCounter = turnCounter;
         futureGame.passCounter = passCounter;
         futureGame.boardHistory.addAll(boardHistory);
+        futureGame.boardHashes = boardHashes.copy();
+        futureGame.hashedBoards = new HashMap<>(hashedBoards);
         futureGame.movesPerTurn = movesPerTurn;
         futureGame.playersPerGame = playersPerGame;
-        futureGame.territories.putAll(copyMap(territories));
+        futureGame.chains = chains.copy(futureGame.board);
         return futureGame;
     }
 
+    /**
+     * Checks if the board is in the history. Only the first board with a hash is kept, so a different board with the
+     * same 64 bit hash would hide a later repeat of it
+     */
     private boolean boardExists(Board board) {
-        for (Board historicBoard : boardHistory) {
-            if (board.equals(historicBoard)) {
-                return true;
-            }
-        }
-        return false;
+        Board historicBoard = hashedBoards.get(board.getHash());
+        return historicBoard != null && board.equals(historicBoard);
     }
 }
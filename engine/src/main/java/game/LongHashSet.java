@@ -0,0 +1,104 @@
+package game;
+
+/**
+ * A set of primitive long values using open addressing with linear probing. It avoids boxing the board hashes that
+ * are stored for every turn of a game
+ * @author Mark Banierink
+ */
+class LongHashSet {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final long FREE = 0L;
+
+    private long[] values;
+    private boolean containsFree;
+    private int size;
+
+    /**
+     * Constructor of an empty set
+     */
+    LongHashSet() {
+        values = new long[DEFAULT_CAPACITY];
+    }
+
+    private LongHashSet(LongHashSet set) {
+        values = set.values.clone();
+        containsFree = set.containsFree;
+        size = set.size;
+    }
+
+    /**
+     * Adds a value to the set
+     * @param value to add
+     * @return true if the value was not yet in the set
+     */
+    boolean add(long value) {
+        if (value == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            size++;
+            return true;
+        }
+        int slot = slot(value);
+        while (values[slot] != FREE) {
+            if (values[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & (values.length - 1);
+        }
+        values[slot] = value;
+        size++;
+        if (size * 2 > values.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a value is in the set
+     * @param value to look up
+     * @return true if the value was added before
+     */
+    boolean contains(long value) {
+        if (value == FREE) {
+            return containsFree;
+        }
+        int slot = slot(value);
+        while (values[slot] != FREE) {
+            if (values[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & (values.length - 1);
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    LongHashSet copy() {
+        return new LongHashSet(this);
+    }
+
+    private int slot(long value) {
+        long mixed = value * 0x9E3779B97F4A7C15L;
+        return (int)(mixed ^ (mixed >>> 32)) & (values.length - 1);
+    }
+
+    private void grow() {
+        long[] oldValues = values;
+        values = new long[oldValues.length * 2];
+        for (long value : oldValues) {
+            if (value != FREE) {
+                int slot = slot(value);
+                while (values[slot] != FREE) {
+                    slot = (slot + 1) & (values.length - 1);
+                }
+                values[slot] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package game;
+
+import helper.enums.Stone;
+import java.util.Arrays;
+
+import static helper.enums.Stone.*;
+
+/**
+ * Determines the territory of every Stone on a Board. Every empty region is filled iteratively with a reusable queue;
+ * a region is territory of a Stone if that is the only Stone bordering it, a region without any bordering stones
+ * counts for every Stone.
+ * The regions of the last scored board are kept. The next board is compared with it and only the regions on and
+ * around the points that changed are filled again, so scoring a board a few moves away from the last one costs a
+ * comparison of the fields plus the changed regions. A board that differs in many points, like the end of another
+ * random playout, is filled completely
+ * @author Mark Banierink
+ */
+class Scorer {
+
+    private static final int EMPTY_ORDINAL = EMPTY.ordinal();
+    private static final int NUM_STONES = Stone.values().length;
+    private static final int NO_REGION = -1;
+    private static final int MAX_CHANGED_DIVISOR = 8;                           // Fill all if more than 1/8 changed
+
+    private Adjacency adjacency;
+    private int[] queue;
+    private int[] changed;
+    private byte[] fields;                                                      // The last scored board
+    private int[] region;                                                       // Start point of the region of a field
+    private int[] regionSize;
+    private int[] regionBorders;
+    private int[] visited;                                                      // Equal to generation if visited
+    private int[] dropped;                                                      // Equal to generation if dropped
+    private int generation;
+    private int[] territories = new int[NUM_STONES];
+    private boolean scored = false;
+    private long scoredHash;
+
+    /**
+     * Constructor of the scorer
+     * @param boardSize the size of the boards that are scored
+     */
+    Scorer(int boardSize) {
+        adjacency = Adjacency.forSize(boardSize);
+        int points = boardSize * boardSize;
+        queue = new int[points];
+        changed = new int[points];
+        fields = new byte[points];
+        region = new int[points];
+        regionSize = new int[points];
+        regionBorders = new int[points];
+        visited = new int[points];
+        dropped = new int[points];
+    }
+
+    /**
+     * Returns the territory of a Stone
+     * @param board the Board to score
+     * @param stone the Stone to return the territory of
+     * @return integer with the number of empty fields that belong to the Stone
+     */
+    int getTerritory(Board board, Stone stone) {
+        if (!scored) {
+            score(board);
+        }
+        else if (scoredHash != board.getHash()) {
+            rescore(board);
+        }
+        return territories[stone.ordinal()];
+    }
+
+    private void score(Board board) {
+        generation++;
+        Arrays.fill(territories, 0);
+        for (int point = 0; point < fields.length; point++) {
+            fields[point] = (byte)board.getOrdinal(point);
+        }
+        for (int point = 0; point < fields.length; point++) {
+            if (fields[point] != EMPTY_ORDINAL) {
+                region[point] = NO_REGION;
+            }
+            else if (visited[point] != generation) {
+                fillRegion(point);
+            }
+        }
+        scoredHash = board.getHash();
+        scored = true;
+    }
+
+    /**
+     * Drops the regions on and next to the changed points and fills them again from those points. Every part of a
+     * dropped region that is still empty touches a changed point, so it is reached from one of them
+     */
+    private void rescore(Board board) {
+        int numChanged = 0;
+        for (int point = 0; point < fields.length; point++) {
+            if (fields[point] != board.getOrdinal(point)) {
+                if (numChanged == fields.length / MAX_CHANGED_DIVISOR) {
+                    score(board);
+                    return;
+                }
+                changed[numChanged++] = point;
+            }
+        }
+        generation++;
+        for (int i = 0; i < numChanged; i++) {
+            dropRegion(changed[i]);
+            int first = changed[i] * Adjacency.MAX_NEIGHBOURS;
+            int end = first + adjacency.degree[changed[i]];
+            for (int j = first; j < end; j++) {
+                dropRegion(adjacency.neighbours[j]);
+            }
+        }
+        for (int i = 0; i < numChanged; i++) {
+            fields[changed[i]] = (byte)board.getOrdinal(changed[i]);
+            if (fields[changed[i]] != EMPTY_ORDINAL) {
+                region[changed[i]] = NO_REGION;
+            }
+        }
+        for (int i = 0; i < numChanged; i++) {
+            fillFrom(changed[i]);
+            int first = changed[i] * Adjacency.MAX_NEIGHBOURS;
+            int end = first + adjacency.degree[changed[i]];
+            for (int j = first; j < end; j++) {
+                fillFrom(adjacency.neighbours[j]);
+            }
+        }
+        scoredHash = board.getHash();
+    }
+
+    private void dropRegion(int point) {
+        int start = region[point];
+        if (fields[point] == EMPTY_ORDINAL && dropped[start] != generation) {
+            dropped[start] = generation;
+            count(regionSize[start], regionBorders[start], -1);
+        }
+    }
+
+    private void fillFrom(int point) {
+        if (fields[point] == EMPTY_ORDINAL && visited[point] != generation) {
+            fillRegion(point);
+        }
+    }
+
+    private void fillRegion(int start) {
+        int head = 0;
+        int tail = 0;
+        int borders = 0;
+        queue[tail++] = start;
+        visited[start] = generation;
+        while (head < tail) {
+            int point = queue[head++];
+            region[point] = start;
+            int first = point * Adjacency.MAX_NEIGHBOURS;
+            int end = first + adjacency.degree[point];
+            for (int i = first; i < end; i++) {
+                int neighbour = adjacency.neighbours[i];
+                int ordinal = fields[neighbour];
+                if (ordinal != EMPTY_ORDINAL) {
+                    borders |= 1 << ordinal;
+                }
+                else if (visited[neighbour] != generation) {
+                    visited[neighbour] = generation;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        regionSize[start] = tail;
+        regionBorders[start] = borders;
+        count(tail, borders, 1);
+    }
+
+    private void count(int size, int borders, int sign) {
+        if (borders == 0) {
+            for (int ordinal = 0; ordinal < NUM_STONES; ordinal++) {
+                territories[ordinal] += sign * size;
+            }
+        }
+        else if (Integer.bitCount(borders) == 1) {
+            territories[Integer.numberOfTrailingZeros(borders)] += sign * size;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package game;
+
+import helper.enums.Stone;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the Zobrist keys used to hash a board position. The keys are generated once per board size from a fixed
+ * seed, so every Board of the same size (also in another JVM) produces the same hash for the same position
+ * @author Mark Banierink
+ */
+class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+    private static final int NUM_STONES = Stone.values().length;
+    private static final Map<Integer, long[]> KEYS = new ConcurrentHashMap<>();
+    private static final long[] TURN_KEYS = createTurnKeys();
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key table for a board size. The key of a Stone on a point is at point * number of Stones + ordinal,
+     * the keys of EMPTY are 0 so an empty board hashes to 0
+     * @param boardSize the size of the board
+     * @return long array with the keys, shared by all boards of this size
+     */
+    static long[] keys(int boardSize) {
+        return KEYS.computeIfAbsent(boardSize, Zobrist::createKeys);
+    }
+
+    /**
+     * Returns the key of the Stone that is to move, so positions with the same occupation but another side to move
+     * hash differently
+     * @param stone the Stone whose turn it is
+     * @return long with the key of this Stone
+     */
+    static long turnKey(Stone stone) {
+        return TURN_KEYS[stone.ordinal()];
+    }
+
+    /**
+     * Returns the key of a board size, so positions on boards of different sizes hash differently, even empty ones
+     * @param boardSize the size of the board
+     * @return long with the key of this size
+     */
+    static long sizeKey(int boardSize) {
+        return new Random(~SEED - boardSize).nextLong();
+    }
+
+    static int keyIndex(int point, int ordinal) {
+        return point * NUM_STONES + ordinal;
+    }
+
+    private static long[] createKeys(int boardSize) {
+        Random random = new Random(SEED + boardSize);
+        long[] keys = new long[boardSize * boardSize * NUM_STONES];
+        for (int i = 0; i < keys.length; i++) {
+            if (i % NUM_STONES != Stone.EMPTY.ordinal()) {
+                keys[i] = random.nextLong();
+            }
+        }
+        return keys;
+    }
+
+    private static long[] createTurnKeys() {
+        Random random = new Random(~SEED);
+        long[] keys = new long[NUM_STONES];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,277 @@
+package helper;
+
+import helper.commands.*;
+import helper.enums.Keyword;
+import helper.enums.Stone;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static helper.CommandToolbox.*;
+import static helper.ServerClientInterface.*;
+import static helper.enums.Keyword.*;
+import static helper.enums.Resources.*;
+
+/**
+ * The BinaryCodec translates Commands to and from the binary protocol that machine clients can ask for at PLAYER time.
+ * A frame is a varint with the length of the rest, a one-byte opcode, which is the ordinal of the Keyword, and the
+ * arguments: stones as their ordinal byte, a move as the varint index of its field (0 being no field), numbers as
+ * varints and text as a varint length followed by UTF-8. Lines that are not a command are sent as a RAW frame with
+ * only the text.
+ * @author Mark Banierink
+ */
+public class BinaryCodec {
+
+    public static final int RAW = 0x7F;
+    public static final int MAX_FRAME_LENGTH = 16 * 1024;
+    private static final int NO_FIELD = 0;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MORE = 0x80;
+    private static final int VARINT_MAX_BYTES = 5;
+    private static final Keyword[] KEYWORDS = Keyword.values();
+    private static final Stone[] STONES = Stone.values();
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Encodes a Command into one frame
+     * @param command the Command to encode, a RAW frame if it is not valid
+     * @param boardSize the board size of the game, to number the fields of a move
+     * @return ByteBuffer with the frame, ready to be written
+     */
+    public static ByteBuffer encode(Command command, int boardSize) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (!command.isValid()) {
+            body.write(RAW);
+            writeString(body, command.getLine());
+            return frame(body);
+        }
+        body.write(command.getKeyword().ordinal());
+        switch (command.getKeyword()) {
+            case PLAYER:
+            case CHAT:
+            case WARNING:
+                writeString(body, ((TextCommand)command).getText());
+                break;
+            case GO:
+                GoCommand go = (GoCommand)command;
+                writeVarint(body, go.getBoardSize());
+                writeVarint(body, go.getPlayersPerGame());
+                break;
+            case READY:
+                ReadyCommand ready = (ReadyCommand)command;
+                body.write(ready.getStone().ordinal());
+                writeString(body, ready.getName());
+                writeVarint(body, ready.getBoardSize());
+                writeVarint(body, ready.getNumberOfPlayers() - 2);
+                for (int i = 0; i < ready.getNumberOfPlayers() - 2; i++) {
+                    writeString(body, ready.getOther(i));
+                }
+                break;
+            case MOVE:
+            case VALID:
+                MoveCommand move = (MoveCommand)command;
+                if (move.getKeyword() == VALID) {
+                    body.write(move.getStone().ordinal());
+                }
+                writeVarint(body, toIndex(move.getX(), move.getY(), boardSize));
+                break;
+            case INVALID:
+            case PASSED:
+            case TABLEFLIPPED:
+                StoneCommand stone = (StoneCommand)command;
+                body.write(stone.getStone().ordinal());
+                if (stone.getKeyword() == INVALID) {
+                    writeString(body, stone.getReason());
+                }
+                break;
+            case END:
+                EndCommand end = (EndCommand)command;
+                writeVarint(body, end.getNumberOfScores());
+                for (int i = 0; i < end.getNumberOfScores(); i++) {
+                    writeVarint(body, (end.getScore(i) << 1) ^ (end.getScore(i) >> 31));    // Zigzag, as -1 is a score
+                }
+                break;
+            default:
+                break;
+        }
+        return frame(body);
+    }
+
+    /**
+     * Finds the next complete frame in a buffer that is ready for reading
+     * @param in the ByteBuffer with the received bytes
+     * @return the length of the frame, with the buffer positioned at its opcode, or -1 with the position unchanged if
+     *         the frame is not complete yet
+     * @throws IllegalArgumentException if the length is not valid
+     */
+    public static int nextFrame(ByteBuffer in) {
+        int start = in.position();
+        int length = 0;
+        for (int i = 0; i < VARINT_MAX_BYTES; i++) {
+            if (!in.hasRemaining()) {
+                in.position(start);
+                return -1;
+            }
+            int b = in.get();
+            length |= (b & (VARINT_MORE - 1)) << (i * VARINT_BITS);
+            if ((b & VARINT_MORE) == 0) {
+                if (length <= 0 || length > MAX_FRAME_LENGTH) {
+                    throw new IllegalArgumentException(String.valueOf(length));
+                }
+                if (in.remaining() < length) {
+                    in.position(start);
+                    return -1;
+                }
+                return length;
+            }
+        }
+        throw new IllegalArgumentException(String.valueOf(length));
+    }
+
+    /**
+     * Decodes one frame into a Command. The line of the Command is the text form of the same command
+     * @param frame the ByteBuffer holding exactly the opcode and the arguments of the frame
+     * @param boardSize the board size of the game, to find the field of a move
+     * @return the Command, without Keyword if the frame is not valid
+     */
+    public static Command decode(ByteBuffer frame, int boardSize) {
+        try {
+            int opcode = frame.get() & 0xFF;
+            if (opcode == RAW) {
+                return new SimpleCommand(null, readString(frame));
+            }
+            Keyword keyword = KEYWORDS[opcode];
+            switch (keyword) {
+                case PLAYER:
+                    String name = readString(frame);
+                    if (name.isEmpty() || name.contains(SPACE.toString())) {
+                        return new SimpleCommand(null, PLAYER.toString() + SPACE + name);
+                    }
+                    return new PlayerCommand(PLAYER.toString() + SPACE + name, name, false);
+                case CHAT:
+                    String message = readString(frame);
+                    return new TextCommand(CHAT, createCommandChat(message), message);
+                case WARNING:
+                    String warning = readString(frame);
+                    return new TextCommand(WARNING, createCommandWarning(warning), warning);
+                case GO:
+                    int size = readVarint(frame);
+                    int playersPerGame = readVarint(frame);
+                    String go = createCommandGo(size) + (playersPerGame == 0 ? "" : SPACE.toString() + playersPerGame);
+                    if (!isValidBoardSize(size, BOARD_SIZE_MIN, BOARD_SIZE_MAX) || (playersPerGame != 0
+                            && (playersPerGame < PLAYERS_PER_GAME_MIN || playersPerGame >= STONES.length))) {
+                        return new SimpleCommand(null, go);
+                    }
+                    return new GoCommand(go, size, playersPerGame);
+                case READY:
+                    return decodeReady(frame);
+                case MOVE:
+                    int[] field = toXY(readVarint(frame), boardSize);
+                    return new MoveCommand(MOVE, createCommandMove(field[0], field[1]), null, field[0], field[1]);
+                case VALID:
+                    Stone mover = STONES[frame.get()];
+                    int[] valid = toXY(readVarint(frame), boardSize);
+                    return new MoveCommand(VALID, createCommandValid(mover, valid[0], valid[1]), mover, valid[0],
+                            valid[1]);
+                case INVALID:
+                    Stone offender = STONES[frame.get()];
+                    String reason = readString(frame);
+                    String invalid = reason.isEmpty() ? INVALID.toString() + SPACE + offender.toString().toLowerCase()
+                            : createCommandInvalid(offender, reason);
+                    return new StoneCommand(INVALID, invalid, offender, reason);
+                case PASSED:
+                    Stone passer = STONES[frame.get()];
+                    return new StoneCommand(PASSED, createCommandPassed(passer), passer, "");
+                case TABLEFLIPPED:
+                    Stone flipper = STONES[frame.get()];
+                    return new StoneCommand(TABLEFLIPPED, createCommandTableFlipped(flipper), flipper, "");
+                case END:
+                    int[] scores = new int[readVarint(frame)];
+                    for (int i = 0; i < scores.length; i++) {
+                        int zigzag = readVarint(frame);
+                        scores[i] = (zigzag >>> 1) ^ -(zigzag & 1);
+                    }
+                    return new EndCommand(createCommandEnd(scores), scores);
+                default:
+                    return new SimpleCommand(keyword, keyword.toString());
+            }
+        }
+        catch (RuntimeException e) {
+            return new SimpleCommand(null, BINARY.toString());
+        }
+    }
+
+    private static Command decodeReady(ByteBuffer frame) {
+        Stone stone = STONES[frame.get()];
+        String name = readString(frame);
+        int boardSize = readVarint(frame);
+        String[] others = new String[readVarint(frame)];
+        StringBuilder line = new StringBuilder();
+        line.append(READY).append(SPACE).append(stone.toString().toLowerCase()).append(SPACE).append(name).append(SPACE)
+                .append(boardSize);
+        for (int i = 0; i < others.length; i++) {
+            others[i] = readString(frame);
+            line.append(SPACE).append(others[i]);
+        }
+        return new ReadyCommand(line.toString(), stone, name, boardSize, others);
+    }
+
+    private static int toIndex(int x, int y, int boardSize) {
+        if (x < 0 || y < 0 || x >= boardSize || y >= boardSize) {
+            return NO_FIELD;
+        }
+        return y * boardSize + x + 1;
+    }
+
+    private static int[] toXY(int index, int boardSize) {
+        if (index == NO_FIELD || boardSize == 0) {
+            return new int[] {-1, -1};
+        }
+        return new int[] {(index - 1) % boardSize, (index - 1) / boardSize};
+    }
+
+    private static ByteBuffer frame(ByteArrayOutputStream body) {
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(body.size() + VARINT_MAX_BYTES);
+        writeVarint(frame, body.size());
+        frame.writeBytes(body.toByteArray());
+        return ByteBuffer.wrap(frame.toByteArray());
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~(VARINT_MORE - 1)) != 0) {
+            out.write((value & (VARINT_MORE - 1)) | VARINT_MORE);
+            value >>>= VARINT_BITS;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int i = 0; i < VARINT_MAX_BYTES; i++) {
+            int b = in.get();
+            value |= (b & (VARINT_MORE - 1)) << (i * VARINT_BITS);
+            if ((b & VARINT_MORE) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException(String.valueOf(value));
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readVarint(in);
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException(String.valueOf(length));
+        }
+        String string = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return string;
+    }
+}
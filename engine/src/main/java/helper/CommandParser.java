@@ -0,0 +1,279 @@
+package helper;
+
+import helper.commands.*;
+import helper.enums.Keyword;
+import helper.enums.Stone;
+
+import static helper.ServerClientInterface.*;
+import static helper.enums.Keyword.*;
+
+/**
+ * The CommandParser reads a protocol line in one pass. It records where the words start and end, recognises the
+ * Keyword and checks the arguments by the same rules as the CommandToolbox, except that all scores of an END must be
+ * integers, without splitting the line or creating any objects. The parser itself is the parsed command and is
+ * reused for the next line, so one parser belongs to one thread, like the reader of one connection. Only the text
+ * arguments that are asked for become Strings. A line can also be decoded into a typed, immutable Command.
+ * @author Mark Banierink
+ */
+public class CommandParser {
+
+    private static final int MAX_WORDS = 16;
+    private static final char SEPARATOR = ' ';
+    private static final Keyword[] KEYWORDS = Keyword.values();
+    private static final Stone[] STONES = Stone.values();
+
+    private CharSequence line;
+    private int[] wordStart = new int[MAX_WORDS];
+    private int[] wordEnd = new int[MAX_WORDS];
+    private int words;
+    private Keyword keyword;
+
+    /**
+     * Parses a line and checks it against the protocol
+     * @param line the received line, without line separator
+     * @return the Keyword of the line if it is a valid command, or else null
+     */
+    public Keyword parse(CharSequence line) {
+        this.line = line;
+        tokenize();
+        keyword = words == 0 ? null : findKeyword();
+        if (keyword != null && !hasValidArguments()) {
+            keyword = null;
+        }
+        return keyword;
+    }
+
+    /**
+     * Parses a line and creates the typed Command with its arguments
+     * @param line the received line, without line separator
+     * @return the Command, without Keyword if the line is not a valid command
+     */
+    public Command decode(String line) {
+        if (parse(line) == null) {
+            return new SimpleCommand(null, line);
+        }
+        switch (keyword) {
+            case PLAYER:
+                return new PlayerCommand(line, getWord(1), words == 3);
+            case CHAT:
+            case WARNING:
+                return new TextCommand(keyword, line, getRest(1));
+            case GO:
+                return new GoCommand(line, getInt(1), words > 2 ? getInt(2) : 0);
+            case READY:
+                String[] others = new String[words - 4];
+                for (int i = 0; i < others.length; i++) {
+                    others[i] = getWord(i + 4);
+                }
+                return new ReadyCommand(line, getStone(1), getWord(2), getInt(3), others);
+            case MOVE:
+                return new MoveCommand(MOVE, line, null, getInt(1), getInt(2));
+            case VALID:
+                return new MoveCommand(VALID, line, getStone(1), getInt(2), getInt(3));
+            case INVALID:
+                return new StoneCommand(INVALID, line, getStone(1), words > 2 ? getRest(2) : "");
+            case PASSED:
+            case TABLEFLIPPED:
+                return new StoneCommand(keyword, line, getStone(1), "");
+            case END:
+                int[] scores = new int[words - 1];
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = getInt(i + 1);
+                }
+                return new EndCommand(line, scores);
+            default:
+                return new SimpleCommand(keyword, line);
+        }
+    }
+
+    public Keyword getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * Returns the number of words, counted like splitString does: empty words between two spaces count, empty words
+     * at the end do not
+     * @return integer with the number of words
+     */
+    public int getWordCount() {
+        return words;
+    }
+
+    /**
+     * Reads a word as integer
+     * @param index the index of the word, the keyword being 0
+     * @return the integer value of the word, which must have been checked by the parser
+     */
+    public int getInt(int index) {
+        return (int)parseLong(index);
+    }
+
+    /**
+     * Creates a String of a single word
+     * @param index the index of the word, the keyword being 0
+     * @return String with the word
+     */
+    public String getWord(int index) {
+        return line.subSequence(wordStart[index], wordEnd[index]).toString();
+    }
+
+    /**
+     * Creates a String of the line from a word up to the end, for example the message of a CHAT
+     * @param index the index of the first word
+     * @return String with the rest of the line
+     */
+    public String getRest(int index) {
+        return line.subSequence(wordStart[index], line.length()).toString();
+    }
+
+    private void tokenize() {
+        words = 0;
+        int lastWord = 0;                                                       // Words up to the last non-empty one
+        int start = 0;
+        int length = line.length();
+        for (int i = 0; i <= length; i++) {
+            if (i == length || line.charAt(i) == SEPARATOR) {
+                if (words < MAX_WORDS) {
+                    wordStart[words] = start;
+                    wordEnd[words] = i;
+                }
+                words++;
+                if (i > start) {
+                    lastWord = words;
+                }
+                start = i + 1;
+            }
+        }
+        words = lastWord;
+    }
+
+    private Keyword findKeyword() {
+        for (Keyword candidate : KEYWORDS) {
+            if (wordEquals(0, candidate.name(), false)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasValidArguments() {
+        switch (keyword) {
+            case PLAYER:
+                return words == 2 || (words == 3 && wordEquals(2, BINARY.name(), false));
+            case PASSED:
+            case TABLEFLIPPED:
+                return words == 2 && isStone(1);
+            case GO:
+                return (words == 2 || (words == 3 && isValidPlayersPerGame(2))) && isValidBoardSize(1);
+            case WAITING:
+            case CANCEL:
+            case PASS:
+            case TABLEFLIP:
+            case HINT:
+            case BINARY:
+                return words == 1;
+            case READY:
+                return words >= 4 && words <= MAX_WORDS && words % 2 == 0 && isStone(1) && isInteger(3);
+            case MOVE:
+                return words == 3 && isInteger(1) && isInteger(2);
+            case VALID:
+                return words == 4 && isStone(1) && isInteger(2) && isInteger(3);
+            case INVALID:
+                return words >= 2 && isStone(1);
+            case CHAT:
+            case WARNING:
+                return words >= 2;
+            case END:
+                return words >= 3 && areIntegers(1);
+            default:
+                return false;
+        }
+    }
+
+    private boolean isValidBoardSize(int index) {
+        if (!isInteger(index)) {
+            return false;
+        }
+        int boardSize = getInt(index);
+        return boardSize >= BOARD_SIZE_MIN && boardSize <= BOARD_SIZE_MAX && boardSize % 2 == 1;
+    }
+
+    private boolean isValidPlayersPerGame(int index) {
+        return isInteger(index) && getInt(index) >= PLAYERS_PER_GAME_MIN && getInt(index) < STONES.length;
+    }
+
+    private boolean areIntegers(int from) {
+        for (int i = from; i < words; i++) {
+            if (!isInteger(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isStone(int index) {
+        return getStone(index) != null;
+    }
+
+    private Stone getStone(int index) {
+        for (Stone stone : STONES) {
+            if (wordEquals(index, stone.name(), true)) {
+                return stone;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a word is an integer the way Integer.parseInt accepts it: an optional sign and at least one digit,
+     * within the range of an int
+     */
+    private boolean isInteger(int index) {
+        if (index >= MAX_WORDS) {
+            return false;
+        }
+        int start = wordStart[index];
+        int end = wordEnd[index];
+        if (start < end && (line.charAt(start) == '-' || line.charAt(start) == '+')) {
+            start++;
+        }
+        if (start == end || end - start > 10) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(line.charAt(i))) {
+                return false;
+            }
+        }
+        long value = parseLong(index);
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    private long parseLong(int index) {
+        int i = wordStart[index];
+        int end = wordEnd[index];
+        boolean negative = line.charAt(i) == '-';
+        if (negative || line.charAt(i) == '+') {
+            i++;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            value = value * 10 + Character.digit(line.charAt(i), 10);
+        }
+        return negative ? -value : value;
+    }
+
+    private boolean wordEquals(int index, String word, boolean ignoreCase) {
+        if (index >= MAX_WORDS || wordEnd[index] - wordStart[index] != word.length()) {
+            return false;
+        }
+        int start = wordStart[index];
+        for (int i = 0; i < word.length(); i++) {
+            char c = line.charAt(start + i);
+            if (c != word.charAt(i) && !(ignoreCase && Character.toUpperCase(c) == word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
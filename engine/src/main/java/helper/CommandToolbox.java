@@ -85,6 +85,23 @@ public class CommandToolbox {
         return PLAYER.toString() + SPACE + player.getName();
     }
 
+    /**
+     * Creates a valid PLAYER command that asks the server for the binary protocol
+     * @param player must be the player that is processed
+     * @return String that can be used as a commando for the server
+     */
+    public static String createCommandPlayerBinary(Player player) {
+        return createCommandPlayer(player) + SPACE + BINARY;
+    }
+
+    /**
+     * Creates a valid BINARY command, that confirms the switch to the binary protocol
+     * @return String that can be used as a commando for the client
+     */
+    public static String createCommandBinary() {
+        return BINARY.toString();
+    }
+
     /**
      * Creates a valid GO command from the provided arguments
      * @param boardSize is the requested board size
@@ -245,11 +262,12 @@ public class CommandToolbox {
     /**
      * Splits and checks the string for validity and arguments
      * @param string to be checked
-     * @return String containing the Player's name, or else null
+     * @return String containing the Player's name and possibly BINARY, or else null
      */
     public static String[] playerArguments(String string) {
         String[] split = splitString(string);
-        if (split.length == 2 && equalsKeyword(split[0], PLAYER)) {
+        if ((split.length == 2 || (split.length == 3 && equalsKeyword(split[2], BINARY)))
+                && equalsKeyword(split[0], PLAYER)) {
             return split;
         }
         return null;
@@ -265,18 +283,33 @@ public class CommandToolbox {
     }
 
     /**
-     * Splits and checks the string for validity and arguments
+     * Splits and checks the string for validity and arguments. The number of players per game is optional
      * @param string to be checked
-     * @return int containing the Player's requested board size, or else -1
+     * @return String array with the keyword, the requested board size and possibly the number of players, or else null
      */
     public static String[] goArguments(String string) {
         String[] split = splitString(string);
-        if (split.length == 2 && equalsKeyword(split[0], GO) && isInteger(split[1]) && isValidBoardSize(Integer.parseInt(split[1]), BOARD_SIZE_MIN, BOARD_SIZE_MAX)) {
+        if ((split.length == 2 || (split.length == 3 && isValidPlayersPerGame(split[2]))) && equalsKeyword(split[0], GO) && isInteger(split[1]) && isValidBoardSize(Integer.parseInt(split[1]), BOARD_SIZE_MIN, BOARD_SIZE_MAX)) {
             return split;
         }
         return null;
     }
 
+    private static boolean isValidPlayersPerGame(String word) {
+        return isInteger(word) && Integer.parseInt(word) >= PLAYERS_PER_GAME_MIN
+                && Integer.parseInt(word) < Stone.values().length;
+    }
+
+    /**
+     * Checks if the string contains a valid BINARY command
+     * @param string to be checked
+     * @return true if valid
+     */
+    public static boolean isBinaryCommand(String string) {
+        String[] split = splitString(string);
+        return split.length == 1 && equalsKeyword(split[0], BINARY);
+    }
+
     /**
      * Checks if the string contains a valid WAITING command
      * @param string to be checked
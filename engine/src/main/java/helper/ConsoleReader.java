@@ -34,12 +34,13 @@ public class ConsoleReader implements Runnable {
     protected String readString(String string) {
         String line = null;
         try {
+            serverClientInterface.getLogger().flush();                          // Log lines first, then the prompt
             System.out.print(string);
             BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
             line = in.readLine();
         }
         catch (IOException e) {
-            System.out.println(e.getMessage());
+            serverClientInterface.getLogger().error(e.getMessage());
         }
         if (line == null) {
             return "";
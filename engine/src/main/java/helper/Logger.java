@@ -0,0 +1,197 @@
+package helper;
+
+import helper.enums.LogLevel;
+import java.io.PrintStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static helper.enums.LogLevel.*;
+
+/**
+ * The Logger writes leveled log lines without holding up the thread that logs them. An entry is only put in a ring
+ * buffer; a background thread drains the buffer in batches and writes every batch with one print. When the buffer is
+ * full, entries are dropped and counted rather than blocking the caller. The level is read from the system property
+ * go.log.level and defaults to INFO, so the DEBUG lines for every received and sent message are off unless asked for.
+ * @author Mark Banierink
+ */
+public class Logger {
+
+    public static final String LEVEL_PROPERTY = "go.log.level";
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_BATCH = 512;
+    private static final long FLUSH_TIMEOUT = 1;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final BlockingQueue<Object> ring;
+    private final PrintStream out;
+    private final Thread drainThread;
+    private final LongAdder dropped = new LongAdder();
+    private volatile LogLevel level;
+
+    /**
+     * Constructor of the Logger that writes to the console at the level of the system property
+     * @param name the name of the drain thread
+     */
+    public Logger(String name) {
+        this(name, LogLevel.parse(System.getProperty(LEVEL_PROPERTY), INFO), DEFAULT_CAPACITY, System.out);
+    }
+
+    /**
+     * Constructor of the Logger
+     * @param name the name of the drain thread
+     * @param level the least severe LogLevel that is written
+     * @param capacity the number of entries the ring buffer holds
+     * @param out the PrintStream the drain thread writes to
+     */
+    public Logger(String name, LogLevel level, int capacity, PrintStream out) {
+        this.level = level;
+        this.out = out;
+        ring = new ArrayBlockingQueue<>(capacity);
+        drainThread = new Thread(this::drain, name);
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Checks whether a level is written, so callers can skip building a message that would be discarded
+     * @param level the LogLevel to check
+     * @return true if entries of this level are written
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(this.level) <= 0;
+    }
+
+    public void error(String message) {
+        log(ERROR, message);
+    }
+
+    public void warning(String message) {
+        log(WARNING, message);
+    }
+
+    public void info(String message) {
+        log(INFO, message);
+    }
+
+    public void debug(String message) {
+        log(DEBUG, message);
+    }
+
+    /**
+     * Puts an entry in the ring buffer, or counts it as dropped if the buffer is full. Never blocks
+     * @param level the LogLevel of the entry
+     * @param message the message
+     */
+    public void log(LogLevel level, String message) {
+        if (isEnabled(level)) {
+            Entry entry = new Entry(level, Thread.currentThread().getName(), message);
+            if (!ring.offer(entry)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until everything that was logged before has been written, for example before a prompt on the console
+     */
+    public void flush() {
+        if (Thread.currentThread() == drainThread || !drainThread.isAlive()) {
+            return;
+        }
+        CountDownLatch written = new CountDownLatch(1);
+        try {
+            if (ring.offer(written, FLUSH_TIMEOUT, TimeUnit.SECONDS)) {
+                written.await(FLUSH_TIMEOUT, TimeUnit.SECONDS);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes what is still buffered and stops the drain thread
+     */
+    public void close() {
+        flush();
+        drainThread.interrupt();
+    }
+
+    private void drain() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder lines = new StringBuilder();
+        long reported = 0;
+        while (true) {
+            try {
+                batch.add(ring.take());
+            }
+            catch (InterruptedException e) {
+                return;
+            }
+            ring.drainTo(batch, MAX_BATCH - 1);
+            long lost = dropped.sum();
+            if (lost != reported) {
+                format(lines, new Entry(WARNING, drainThread.getName(), (lost - reported) + " log entries dropped"));
+                reported = lost;
+            }
+            for (Object item : batch) {
+                if (item instanceof Entry) {
+                    format(lines, (Entry)item);
+                }
+                else {
+                    write(lines);
+                    ((CountDownLatch)item).countDown();
+                }
+            }
+            write(lines);
+            batch.clear();
+        }
+    }
+
+    private void format(StringBuilder lines, Entry entry) {
+        TIME_FORMAT.formatTo(entry.time, lines);
+        lines.append(' ').append(entry.level).append(" [").append(entry.thread).append("] ").append(entry.message)
+                .append(System.lineSeparator());
+    }
+
+    private void write(StringBuilder lines) {
+        if (lines.length() > 0) {
+            out.print(lines);
+            out.flush();
+            lines.setLength(0);
+        }
+    }
+
+    private static class Entry {
+
+        private final LocalTime time = LocalTime.now();
+        private final LogLevel level;
+        private final String thread;
+        private final String message;
+
+        private Entry(LogLevel level, String thread, String message) {
+            this.level = level;
+            this.thread = thread;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package helper;
+
+import helper.commands.Command;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The ProtocolReader reads a blocking stream that starts in the text protocol and may switch to the binary protocol
+ * after any line. It reads the bytes itself instead of through a Reader, so nothing of the frames that follow the
+ * switch is decoded as text.
+ * @author Mark Banierink
+ */
+public class ProtocolReader {
+
+    private static final int LINE_BUFFER_SIZE = 256;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MORE = 0x80;
+    private static final int VARINT_MAX_BYTES = 5;
+
+    private InputStream in;
+    private byte[] line = new byte[LINE_BUFFER_SIZE];
+
+    /**
+     * Constructor of the ProtocolReader
+     * @param in the InputStream of the connection
+     */
+    public ProtocolReader(InputStream in) {
+        this.in = new BufferedInputStream(in);
+    }
+
+    /**
+     * Reads a line of the text protocol
+     * @return String with the line, without line separator, or null at the end of the stream
+     * @throws IOException if the stream can not be read or the line is too long
+     */
+    public String readLine() throws IOException {
+        int length = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b == -1) {
+                return length == 0 ? null : decode(length);
+            }
+            if (length == line.length) {
+                if (length == MAX_LINE_LENGTH) {
+                    throw new IOException(String.valueOf(length));
+                }
+                line = Arrays.copyOf(line, Math.min(length * 2, MAX_LINE_LENGTH));
+            }
+            line[length++] = (byte)b;
+        }
+        return decode(length);
+    }
+
+    /**
+     * Reads a frame of the binary protocol
+     * @param boardSize the board size of the current game, to find the field of a move
+     * @return the decoded Command, or null at the end of the stream
+     * @throws IOException if the stream can not be read or the frame is not valid
+     */
+    public Command readFrame(int boardSize) throws IOException {
+        int length = 0;
+        for (int i = 0; ; i++) {
+            int b = in.read();
+            if (b == -1) {
+                return null;
+            }
+            if (i == VARINT_MAX_BYTES) {
+                throw new IOException(String.valueOf(length));
+            }
+            length |= (b & (VARINT_MORE - 1)) << (i * VARINT_BITS);
+            if ((b & VARINT_MORE) == 0) {
+                break;
+            }
+        }
+        if (length <= 0 || length > BinaryCodec.MAX_FRAME_LENGTH) {
+            throw new IOException(String.valueOf(length));
+        }
+        byte[] frame = in.readNBytes(length);
+        if (frame.length < length) {
+            return null;
+        }
+        return BinaryCodec.decode(ByteBuffer.wrap(frame), boardSize);
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String decode(int length) {
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -15,6 +15,9 @@ public interface ServerClientInterface {
     int PLAYERS_PER_GAME_MIN = 2;
     int MOVES_PER_TURN_MIN = 1;
     int MOVES_PER_TURN_MAX = 5;
+    int NAME_LENGTH_MAX = 64;
 
     void handleConsoleInput(String line);
+
+    Logger getLogger();
 }
@@ -0,0 +1,42 @@
+package helper.commands;
+
+import helper.enums.Keyword;
+
+/**
+ * A Command is one decoded line of the protocol. The subclasses hold the typed arguments of a Keyword, so a line is
+ * parsed once and its arguments are not read from Strings again. Commands are immutable, so they can be handed to
+ * another thread, like the GameActor of a game.
+ * @author Mark Banierink
+ */
+public abstract class Command {
+
+    private final Keyword keyword;
+    private final String line;
+
+    /**
+     * Constructor of the Command
+     * @param keyword the Keyword of the command, null if the line is not a valid command
+     * @param line the line the command was decoded from
+     */
+    protected Command(Keyword keyword, String line) {
+        this.keyword = keyword;
+        this.line = line;
+    }
+
+    public Keyword getKeyword() {
+        return keyword;
+    }
+
+    public boolean isValid() {
+        return keyword != null;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    @Override
+    public String toString() {
+        return line;
+    }
+}
@@ -0,0 +1,77 @@
+package helper.commands;
+
+import helper.enums.Keyword;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The CommandDispatcher passes a decoded Command to the handler that is registered for its Keyword. Commands without
+ * a handler, and lines that are not a command, go to the fallback handler. Every dispatch is counted per Keyword, so
+ * this is the one place where all commands pass. Handlers are registered before the first dispatch; after that the
+ * dispatcher may be used by any number of threads.
+ * @param <C> the context a command is handled in, like the connection it came from
+ * @author Mark Banierink
+ */
+public class CommandDispatcher<C> {
+
+    /**
+     * Handles a command of one type
+     * @param <C> the context a command is handled in
+     * @param <T> the type of Command
+     */
+    public interface Handler<C, T extends Command> {
+        void handle(C context, T command);
+    }
+
+    private final Map<Keyword, Handler<C, Command>> handlers = new EnumMap<>(Keyword.class);
+    private final Map<Keyword, LongAdder> counts = new EnumMap<>(Keyword.class);
+    private final LongAdder invalid = new LongAdder();
+    private final Handler<C, Command> fallback;
+
+    /**
+     * Constructor of the CommandDispatcher
+     * @param fallback the Handler for invalid lines and commands without handler
+     */
+    public CommandDispatcher(Handler<C, Command> fallback) {
+        this.fallback = fallback;
+        for (Keyword keyword : Keyword.values()) {
+            counts.put(keyword, new LongAdder());
+        }
+    }
+
+    /**
+     * Registers the handler of a Keyword
+     * @param keyword the Keyword to handle
+     * @param type the class of the Command that is decoded for this Keyword
+     * @param handler the Handler
+     * @param <T> the type of Command
+     */
+    public <T extends Command> void register(Keyword keyword, Class<T> type, Handler<C, T> handler) {
+        handlers.put(keyword, (context, command) -> handler.handle(context, type.cast(command)));
+    }
+
+    /**
+     * Counts a command and passes it to its handler
+     * @param context the context of the command
+     * @param command the decoded Command
+     */
+    public void dispatch(C context, Command command) {
+        Keyword keyword = command.getKeyword();
+        if (keyword == null) {
+            invalid.increment();
+            fallback.handle(context, command);
+            return;
+        }
+        counts.get(keyword).increment();
+        handlers.getOrDefault(keyword, fallback).handle(context, command);
+    }
+
+    public long getCount(Keyword keyword) {
+        return counts.get(keyword).sum();
+    }
+
+    public long getInvalidCount() {
+        return invalid.sum();
+    }
+}
@@ -0,0 +1,30 @@
+package helper.commands;
+
+import static helper.enums.Keyword.END;
+
+/**
+ * The END command with the scores of the players in stone order.
+ * @author Mark Banierink
+ */
+public class EndCommand extends Command {
+
+    private final int[] scores;
+
+    public EndCommand(String line, int[] scores) {
+        super(END, line);
+        this.scores = scores;
+    }
+
+    public int getNumberOfScores() {
+        return scores.length;
+    }
+
+    /**
+     * Returns a score
+     * @param index the index of the player, 0 being the first stone
+     * @return integer with the score
+     */
+    public int getScore(int index) {
+        return scores[index];
+    }
+}
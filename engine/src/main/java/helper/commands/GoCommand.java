@@ -0,0 +1,39 @@
+package helper.commands;
+
+import static helper.enums.Keyword.GO;
+
+/**
+ * The GO command with the requested board size and, optionally, the requested number of players.
+ * @author Mark Banierink
+ */
+public class GoCommand extends Command {
+
+    private static final int NOT_REQUESTED = 0;
+
+    private final int boardSize;
+    private final int playersPerGame;
+
+    /**
+     * Constructor of the GoCommand
+     * @param line the line the command was decoded from
+     * @param boardSize the requested board size
+     * @param playersPerGame the requested number of players, 0 if not requested
+     */
+    public GoCommand(String line, int boardSize, int playersPerGame) {
+        super(GO, line);
+        this.boardSize = boardSize;
+        this.playersPerGame = playersPerGame;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public boolean hasPlayersPerGame() {
+        return playersPerGame != NOT_REQUESTED;
+    }
+
+    public int getPlayersPerGame() {
+        return playersPerGame;
+    }
+}
@@ -0,0 +1,43 @@
+package helper.commands;
+
+import helper.enums.Keyword;
+import helper.enums.Stone;
+
+/**
+ * A command with the coordinates of a move: the MOVE of a client, or the VALID that the server sends with the stone
+ * that made the move.
+ * @author Mark Banierink
+ */
+public class MoveCommand extends Command {
+
+    private final Stone stone;
+    private final int x;
+    private final int y;
+
+    /**
+     * Constructor of the MoveCommand
+     * @param keyword MOVE or VALID
+     * @param line the line the command was decoded from
+     * @param stone the Stone that moved, null for a MOVE
+     * @param x the coordinate of the move
+     * @param y the coordinate of the move
+     */
+    public MoveCommand(Keyword keyword, String line, Stone stone, int x, int y) {
+        super(keyword, line);
+        this.stone = stone;
+        this.x = x;
+        this.y = y;
+    }
+
+    public Stone getStone() {
+        return stone;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+}
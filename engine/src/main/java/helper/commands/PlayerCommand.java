@@ -0,0 +1,21 @@
+package helper.commands;
+
+import static helper.enums.Keyword.PLAYER;
+
+/**
+ * The PLAYER command with the name of the player, and whether the client asks for the binary protocol.
+ * @author Mark Banierink
+ */
+public class PlayerCommand extends TextCommand {
+
+    private final boolean binary;
+
+    public PlayerCommand(String line, String name, boolean binary) {
+        super(PLAYER, line, name);
+        this.binary = binary;
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+}
@@ -0,0 +1,54 @@
+package helper.commands;
+
+import helper.enums.Stone;
+
+import static helper.enums.Keyword.READY;
+
+/**
+ * The READY command that starts a game: the stone of the receiving player, the name of the next player, the board
+ * size and the remaining arguments for games with more than two players.
+ * @author Mark Banierink
+ */
+public class ReadyCommand extends Command {
+
+    private final Stone stone;
+    private final String name;
+    private final int boardSize;
+    private final String[] others;
+
+    /**
+     * Constructor of the ReadyCommand
+     * @param line the line the command was decoded from
+     * @param stone the Stone of the receiving player
+     * @param name the name of the next player
+     * @param boardSize the board size of the game
+     * @param others the remaining arguments
+     */
+    public ReadyCommand(String line, Stone stone, String name, int boardSize, String[] others) {
+        super(READY, line);
+        this.stone = stone;
+        this.name = name;
+        this.boardSize = boardSize;
+        this.others = others;
+    }
+
+    public Stone getStone() {
+        return stone;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getNumberOfPlayers() {
+        return others.length + 2;
+    }
+
+    public String getOther(int index) {
+        return others[index];
+    }
+}
@@ -0,0 +1,15 @@
+package helper.commands;
+
+import helper.enums.Keyword;
+
+/**
+ * A command without arguments: WAITING, CANCEL, PASS, TABLEFLIP or HINT. A line that is not a valid command is also
+ * a SimpleCommand, without Keyword.
+ * @author Mark Banierink
+ */
+public class SimpleCommand extends Command {
+
+    public SimpleCommand(Keyword keyword, String line) {
+        super(keyword, line);
+    }
+}
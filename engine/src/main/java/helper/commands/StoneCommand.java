@@ -0,0 +1,35 @@
+package helper.commands;
+
+import helper.enums.Keyword;
+import helper.enums.Stone;
+
+/**
+ * A command about the player with a stone: PASSED, TABLEFLIPPED, or INVALID with its reason.
+ * @author Mark Banierink
+ */
+public class StoneCommand extends Command {
+
+    private final Stone stone;
+    private final String reason;
+
+    /**
+     * Constructor of the StoneCommand
+     * @param keyword PASSED, TABLEFLIPPED or INVALID
+     * @param line the line the command was decoded from
+     * @param stone the Stone of the player
+     * @param reason the reason of an INVALID, empty otherwise
+     */
+    public StoneCommand(Keyword keyword, String line, Stone stone, String reason) {
+        super(keyword, line);
+        this.stone = stone;
+        this.reason = reason;
+    }
+
+    public Stone getStone() {
+        return stone;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,21 @@
+package helper.commands;
+
+import helper.enums.Keyword;
+
+/**
+ * A command with one text argument: the name of a PLAYER, or the message of a CHAT or WARNING.
+ * @author Mark Banierink
+ */
+public class TextCommand extends Command {
+
+    private final String text;
+
+    public TextCommand(Keyword keyword, String line, String text) {
+        super(keyword, line);
+        this.text = text;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
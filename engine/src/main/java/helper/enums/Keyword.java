@@ -8,6 +8,6 @@ package helper.enums;
  */
 public enum Keyword {
 
-    PLAYER, GO, WAITING, CANCEL, READY, MOVE, VALID, INVALID, PASS, PASSED, TABLEFLIP, TABLEFLIPPED, HINT, CHAT, WARNING, END;
+    PLAYER, GO, WAITING, CANCEL, READY, MOVE, VALID, INVALID, PASS, PASSED, TABLEFLIP, TABLEFLIPPED, HINT, CHAT, WARNING, END, BINARY;
 
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package helper.enums;
+
+/**
+ * The levels of the Logger, from most to least severe. A Logger writes the entries of its own level and above
+ * @author Mark Banierink
+ */
+public enum LogLevel {
+
+    ERROR, WARNING, INFO, DEBUG;
+
+    /**
+     * Reads a level by name, ignoring case
+     * @param name the name of the level, may be null
+     * @param defaultLevel the level to use if the name is not a level
+     * @return the LogLevel
+     */
+    public static LogLevel parse(String name, LogLevel defaultLevel) {
+        if (name != null) {
+            for (LogLevel level : values()) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+        }
+        return defaultLevel;
+    }
+}
@@ -19,16 +19,30 @@ public enum Resources {
     MAXIMUM_CLIENTS("Maximum number of clients that can connect"),
     PLAYERS_PER_GAME("Number of players per game"),
     MOVES_PER_TURN("Number of moves per turn"),
+    NON_BLOCKING("Serve clients with non-blocking I/O"),
+    VIRTUAL_THREADS("Run every client on a virtual thread"),
+    VIRTUAL_THREADS_UNAVAILABLE("Virtual threads are not available, using platform threads"),
     SERVER_START("Server starting"),
     SERVERSOCKET_MADE("ServerSocket made"),
     SOCKET_AVAILABLE("Socket available"),
     CLIENTHANDLER("ClientHandler"),
     CLIENTHANDLER_LISTED("ClientHandler listed"),
     CLIENTHANDLERTHREAD_LISTED("ClientHandler listed"),
+    EVENTLOOP("EventLoop"),
+    LOGGER("Logger"),
+    METRICS_PORT("Metrics served on local port"),
+    METRICS_NOT_POSSIBLE("Metrics could not be exported"),
+    JOURNAL_NOT_POSSIBLE("Journal could not be opened, games are not recovered"),
+    JOURNAL_NOT_WRITTEN("Journal could not be written"),
+    JOURNAL_CUT_OFF("Journal cut off at a damaged record"),
+    JOURNAL_RECORD_SKIPPED("Journal record skipped, it is intact but can not be read"),
+    JOURNAL_GAME_DROPPED("Journaled game could not be rebuilt"),
     GAME_STARTED("Game started"),
     GAME_REMOVED("This game is removed"),
     CLIENTHANDLER_REMOVED("ClientHandler removed"),
     GAME_LISTED("Game listed"),
+    GAME_RECOVERED("Game recovered"),
+    GAME_RESUMED("Game resumed"),
     PLAYER_REMOVED_GAME("Player removed from Game"),
     ANONYMOUS("Anonymous Client"),
     CONNECTION_LOST("Connection with Client was lost"),
@@ -49,7 +63,8 @@ public enum Resources {
     SERVER_CLIENT_MISMATCH("There is mismatch between Server and Client implementation"),
     SERVER("Server"),
     YOUR_TURN("It is your turn"),
-    NAME_TAKEN("Name is already taken, please retry");
+    NAME_TAKEN("Name is already taken, please retry"),
+    NAME_TOO_LONG("Name is too long, please retry");
 
     private final String string;
 
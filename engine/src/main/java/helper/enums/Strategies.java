@@ -6,6 +6,6 @@ package helper.enums;
  */
 public enum Strategies {
 
-    RANDOM, SMART;
+    RANDOM, SMART, MONTE_CARLO;
 
 }
@@ -0,0 +1,39 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the shared neighbour tables
+ * @author Mark Banierink
+ */
+class AdjacencyTest {
+
+    private static final int BOARD_SIZE = 5;
+
+    private Adjacency adjacency = Adjacency.forSize(BOARD_SIZE);
+
+    @Test
+    void testForSize() {
+        assertSame(adjacency, Adjacency.forSize(BOARD_SIZE));
+        assertNotSame(adjacency, Adjacency.forSize(BOARD_SIZE + 2));
+    }
+
+    @Test
+    void testDegree() {
+        assertEquals(2, adjacency.degree[0]);
+        assertEquals(3, adjacency.degree[2]);
+        assertEquals(4, adjacency.degree[12]);
+        assertEquals(2, adjacency.degree[BOARD_SIZE * BOARD_SIZE - 1]);
+    }
+
+    @Test
+    void testNeighbours() {
+        int offset = 12 * Adjacency.MAX_NEIGHBOURS;
+        assertEquals(7, adjacency.neighbours[offset]);
+        assertEquals(13, adjacency.neighbours[offset + 1]);
+        assertEquals(17, adjacency.neighbours[offset + 2]);
+        assertEquals(11, adjacency.neighbours[offset + 3]);
+    }
+}
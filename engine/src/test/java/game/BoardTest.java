@@ -20,7 +20,7 @@ public class BoardTest {
     private Board board2 = new Board(BOARD_SIZE);
     private Board board3 = new Board(BOARD_SIZE);
     private Board board4 = new Board(BOARD_SIZE + 1);
-    private Game game = new Game(BOARD_SIZE, MOVES_PER_TURN, PLAYERS_PER_GAME, false);
+    private Game game = new Game(BOARD_SIZE, MOVES_PER_TURN, PLAYERS_PER_GAME);
 
     @BeforeEach
     void setUp() {
@@ -55,6 +55,31 @@ public class BoardTest {
     void testBoardCopy() {
         Board copy = board1.boardCopy();
         assertEquals(board1, copy);
+        copy.setField(1, 1, WHITE);
+        assertTrue(board1.isEmpty(1, 1));
+        assertEquals(WHITE, copy.getField(1, 1));
+    }
+
+    @Test
+    void testCountStones() {
+        assertTrue(board1.isEmptyBoard());
+        assertFalse(board3.isEmptyBoard());
+        assertEquals(1, board3.countStones(BLACK));
+        assertEquals(BOARD_SIZE * BOARD_SIZE - 1, board3.countStones(EMPTY));
+        board3.setFieldEmpty(0, 0);
+        assertEquals(0, board3.countStones(BLACK));
+        assertTrue(board3.isEmptyBoard());
+    }
+
+    @Test
+    void testGetHash() {
+        assertEquals(0L, board1.getHash());
+        assertNotEquals(board1.getHash(), board3.getHash());
+        board1.setField(0, 0, BLACK);
+        assertEquals(board3.getHash(), board1.getHash());
+        board1.setField(0, 0, WHITE);
+        board1.setFieldEmpty(0, 0);
+        assertEquals(board2.getHash(), board1.getHash());
     }
 
     @Test
@@ -65,5 +90,6 @@ public class BoardTest {
         assertFalse(board1.equals(board4));
         assertFalse(board1.equals(board3));
         assertTrue(board1.equals(board2));
+        assertEquals(board1.hashCode(), board2.hashCode());
     }
 }
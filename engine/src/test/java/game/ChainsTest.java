@@ -0,0 +1,100 @@
+package game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static helper.enums.Stone.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the union-find chain administration
+ * @author Mark Banierink
+ */
+class ChainsTest {
+
+    private static final int BOARD_SIZE = 5;
+
+    private Board board;
+    private Chains chains;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(BOARD_SIZE);
+        chains = new Chains(board);
+    }
+
+    private int point(int x, int y) {
+        return y * BOARD_SIZE + x;
+    }
+
+    @Test
+    void testMerge() {
+        chains.play(point(1, 1), BLACK.ordinal());
+        chains.play(point(2, 1), BLACK.ordinal());
+        chains.play(point(3, 3), BLACK.ordinal());
+        chains.play(point(2, 2), BLACK.ordinal());
+        assertEquals(3, chains.chainSize(point(1, 1)));
+        assertEquals(1, chains.chainSize(point(3, 3)));
+        assertTrue(chains.hasLiberties(point(2, 2)));
+    }
+
+    @Test
+    void testCapture() {
+        chains.play(point(0, 0), WHITE.ordinal());
+        chains.play(point(1, 0), WHITE.ordinal());
+        chains.play(point(2, 0), BLACK.ordinal());
+        chains.play(point(0, 1), BLACK.ordinal());
+        assertEquals(2, chains.play(point(1, 1), BLACK.ordinal()));
+        assertTrue(board.isEmpty(0, 0));
+        assertTrue(board.isEmpty(1, 0));
+        assertEquals(0, board.countStones(WHITE));
+        assertTrue(chains.hasLiberties(point(1, 1)));
+    }
+
+    @Test
+    void testSuicide() {
+        chains.play(point(1, 0), BLACK.ordinal());
+        chains.play(point(0, 1), BLACK.ordinal());
+        assertEquals(1, chains.play(point(0, 0), WHITE.ordinal()));
+        assertTrue(board.isEmpty(0, 0));
+        assertTrue(chains.hasLiberties(point(1, 0)));
+    }
+
+    @Test
+    void testCopy() {
+        chains.play(point(1, 0), BLACK.ordinal());
+        Board boardCopy = board.boardCopy();
+        Chains copy = chains.copy(boardCopy);
+        copy.play(point(2, 0), BLACK.ordinal());
+        assertEquals(2, copy.chainSize(point(1, 0)));
+        assertEquals(1, chains.chainSize(point(1, 0)));
+        assertTrue(board.isEmpty(2, 0));
+    }
+
+    @Test
+    void testProbeHash() {
+        chains.play(point(0, 0), WHITE.ordinal());
+        chains.play(point(1, 0), WHITE.ordinal());
+        chains.play(point(2, 0), BLACK.ordinal());
+        chains.play(point(0, 1), BLACK.ordinal());
+        chains.play(point(3, 0), WHITE.ordinal());
+        chains.play(point(4, 1), WHITE.ordinal());
+        assertProbeHash(point(1, 1), BLACK.ordinal());                          // Captures two stones
+        assertProbeHash(point(3, 3), BLACK.ordinal());                          // Captures nothing
+        chains.play(point(3, 1), BLACK.ordinal());
+        chains.play(point(4, 2), BLACK.ordinal());
+        assertProbeHash(point(4, 0), BLACK.ordinal());                          // Captures both white chains
+        assertProbeHash(point(4, 0), WHITE.ordinal());                          // Suicide of the white chains
+    }
+
+    private void assertProbeHash(int point, int ordinal) {
+        long before = board.getHash();
+        long probed = chains.probeHash(point, ordinal);
+        assertEquals(before, board.getHash());
+        int mark = chains.mark();
+        chains.play(point, ordinal);
+        assertEquals(board.getHash(), probed);
+        chains.undo(mark);
+        assertEquals(before, board.getHash());
+    }
+}
@@ -1,6 +1,5 @@
 package game;
 
-import com.nedap.go.gui.GoGUIIntegrator;
 import helper.enums.Stone;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -10,6 +9,7 @@ import org.junit.jupiter.api.*;
 
 import static helper.enums.Keyword.*;
 import static helper.enums.Stone.*;
+import static helper.enums.Resources.KO;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -30,7 +30,7 @@ public class GameTest {
 
     @BeforeEach
     void setUp() {
-        this.game = new Game(BOARD_SIZE, MOVES_PER_TURN, PLAYERS_PER_GAME, false);
+        this.game = new Game(BOARD_SIZE, MOVES_PER_TURN, PLAYERS_PER_GAME);
         player1 = new Player("Joop");
         player2 = new Player("Piet");
         player3 = new Player("Henk");
@@ -136,7 +136,49 @@ public class GameTest {
         game.move(WHITE, 4, 3);
         game.move(BLACK, 3, 3);
         game.move(WHITE, 3, 2);
-        assertFalse(game.isValidMove(BLACK, 3, 3));
+        Board before = game.getBoard().boardCopy();
+        assertEquals(KO.toString(), game.checkMoveValidity(BLACK, 3, 3));
+        assertEquals(before, game.getBoard());                                  // Checking does not play the move
+        assertEquals(before.getHash(), game.getBoard().getHash());
+        assertEquals(KO.toString(), game.copyThisGame().checkMoveValidity(BLACK, 3, 3));
+    }
+
+    @Test
+    void testPlayUndo() {
+        game.move(BLACK, 1, 0);
+        game.move(WHITE, 0, 0);
+        Board before = game.getBoard().boardCopy();
+        assertEquals(1, game.play(BLACK, 0, 1));
+        assertTrue(game.getBoard().isEmpty(0, 0));
+        assertEquals(WHITE, game.getTurn());
+        game.undo();
+        assertEquals(before, game.getBoard());
+        assertEquals(before.getHash(), game.getBoard().getHash());
+        assertEquals(BLACK, game.getTurn());
+        assertEquals(WHITE, game.getBoard().getField(0, 0));
+    }
+
+    @Test
+    void testIsSuicideAndEye() {
+        game.move(BLACK, 1, 0);
+        game.move(YELLOW, 8, 8);
+        game.move(BLACK, 0, 1);
+        assertTrue(game.isEye(BLACK, 0, 0));
+        assertTrue(game.isSuicide(YELLOW, 0, 0));
+        assertFalse(game.isSuicide(BLACK, 0, 0));
+        assertFalse(game.isSuicide(YELLOW, 4, 4));
+    }
+
+    @Test
+    void testPlayPassUndo() {
+        game.playPass();
+        assertEquals(WHITE, game.getTurn());
+        game.playPass();
+        assertTrue(game.isFinished());
+        game.undo();
+        game.undo();
+        assertEquals(BLACK, game.getTurn());
+        assertFalse(game.isFinished());
     }
 
     @Test
@@ -144,6 +186,39 @@ public class GameTest {
         assertEquals(VALID.toString(), game.checkMoveValidity(BLACK, 1, 0));
     }
 
+    @Test
+    void testObserver() {
+        List<String> events = new ArrayList<>();
+        game.addObserver(new BoardObserver() {
+            public void boardStarted(int boardSize) { events.add("started " + boardSize); }
+            public void stonePlaced(int x, int y, Stone stone) { events.add("placed " + x + " " + y + " " + stone); }
+            public void stoneRemoved(int x, int y) { events.add("removed " + x + " " + y); }
+            public void hintShown(int x, int y) { events.add("hint " + x + " " + y); }
+            public void hintRemoved() { events.add("hint removed"); }
+            public void gameClosed() { events.add("closed"); }
+        });
+        game.move(BLACK, 1, 0);
+        game.move(YELLOW, 0, 0);
+        game.copyThisGame().move(BLACK, 5, 5);                                 // A copy has no observers
+        game.showHint(4, 4);
+        game.removeHint();
+        game.move(BLACK, 0, 1);
+        game.close();
+        game.move(YELLOW, 8, 8);
+        assertEquals(List.of("started 9", "placed 1 0 BLACK", "placed 0 0 YELLOW", "hint 4 4", "hint removed",
+                "placed 0 1 BLACK", "removed 0 0", "closed"), events);
+    }
+
+    @Test
+    void testGetHash() {
+        assertEquals(new Game(9, 1, 2).getHash(), new Game(9, 1, 2).getHash());
+        assertNotEquals(new Game(9, 1, 2).getHash(), new Game(13, 1, 2).getHash());
+        long before = game.getHash();
+        game.move(BLACK, 4, 4);
+        assertNotEquals(before, game.getHash());
+        assertEquals(game.getHash(), game.copyThisGame().getHash());
+    }
+
     @Test
     void testCopyThisGame() {
         Game futureGame = game.copyThisGame();
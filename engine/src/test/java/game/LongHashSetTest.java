@@ -0,0 +1,50 @@
+package game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the primitive long hash set
+ * @author Mark Banierink
+ */
+class LongHashSetTest {
+
+    private LongHashSet set;
+
+    @BeforeEach
+    void setUp() {
+        set = new LongHashSet();
+    }
+
+    @Test
+    void testAdd() {
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void testContains() {
+        for (long i = -500; i < 500; i++) {
+            set.add(i * 7919);
+        }
+        for (long i = -500; i < 500; i++) {
+            assertTrue(set.contains(i * 7919));
+            assertFalse(set.contains(i * 7919 + 1));
+        }
+        assertEquals(1000, set.size());
+    }
+
+    @Test
+    void testCopy() {
+        set.add(1L);
+        LongHashSet copy = set.copy();
+        copy.add(2L);
+        assertTrue(copy.contains(1L));
+        assertFalse(set.contains(2L));
+    }
+}
@@ -0,0 +1,69 @@
+package game;
+
+import helper.enums.Stone;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static helper.enums.Stone.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the territory scoring
+ * @author Mark Banierink
+ */
+class ScorerTest {
+
+    private static final int BOARD_SIZE = 5;
+    private static final int BOARD_SIZE_MAX = 131;
+
+    private Board board;
+    private Scorer scorer;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(BOARD_SIZE);
+        scorer = new Scorer(BOARD_SIZE);
+    }
+
+    @Test
+    void testEmptyBoard() {
+        assertEquals(BOARD_SIZE * BOARD_SIZE, scorer.getTerritory(board, BLACK));
+        assertEquals(BOARD_SIZE * BOARD_SIZE, scorer.getTerritory(board, WHITE));
+    }
+
+    @Test
+    void testLargeEmptyBoard() {
+        Board largeBoard = new Board(BOARD_SIZE_MAX);
+        largeBoard.setField(0, 0, BLACK);
+        assertEquals(BOARD_SIZE_MAX * BOARD_SIZE_MAX - 1, new Scorer(BOARD_SIZE_MAX).getTerritory(largeBoard, BLACK));
+    }
+
+    @Test
+    void testTerritory() {
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            board.setField(2, i, BLACK);
+        }
+        board.setField(4, 4, WHITE);
+        assertEquals(10, scorer.getTerritory(board, BLACK));
+        assertEquals(0, scorer.getTerritory(board, WHITE));
+        board.setFieldEmpty(4, 4);
+        assertEquals(20, scorer.getTerritory(board, BLACK));
+    }
+
+    @Test
+    void testIncremental() {
+        Random random = new Random(1);
+        Stone[] stones = {EMPTY, BLACK, WHITE, BLACK, WHITE, EMPTY};
+        for (int i = 0; i < 2000; i++) {
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                Stone stone = stones[random.nextInt(stones.length)];
+                board.setField(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE), stone);
+            }
+            Scorer fresh = new Scorer(BOARD_SIZE);
+            for (Stone stone : new Stone[] {BLACK, WHITE, BLUE}) {
+                assertEquals(fresh.getTerritory(board, stone), scorer.getTerritory(board, stone));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package helper;
+
+import helper.commands.Command;
+import helper.enums.Keyword;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class BinaryCodecTest {
+
+    private static final int BOARD_SIZE = 9;
+    private static final String[] LINES = {"PLAYER name", "GO 9", "GO 19 3", "WAITING", "CANCEL",
+            "READY black name 9", "READY white name 9 red green", "MOVE 0 0", "MOVE 8 8", "MOVE 3 5", "MOVE -1 -1",
+            "VALID black 4 2", "VALID red -1 -1", "INVALID white", "INVALID white Not player's turn", "PASS",
+            "PASSED red", "TABLEFLIP", "TABLEFLIPPED blue", "HINT", "CHAT hello there", "WARNING something",
+            "END 1 2", "END -1 -1", "END 1 2 3 4 5 6", "BINARY", "no command at all"};
+
+    private CommandParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new CommandParser();
+    }
+
+    @Test
+    void testRoundTrip() {
+        for (String line : LINES) {
+            Command command = parser.decode(line);
+            Command decoded = roundTrip(command);
+            assertEquals(command.getKeyword(), decoded.getKeyword(), line);
+            assertEquals(line, decoded.getLine());
+        }
+    }
+
+    @Test
+    void testNextFrame() {
+        ByteBuffer first = BinaryCodec.encode(parser.decode("MOVE 1 2"), BOARD_SIZE);
+        ByteBuffer second = BinaryCodec.encode(parser.decode("CHAT hello"), BOARD_SIZE);
+        ByteBuffer both = ByteBuffer.allocate(first.remaining() + second.remaining()).put(first).put(second).flip();
+        int firstLength = first.flip().remaining();
+        both.limit(firstLength - 1);
+        assertEquals(-1, BinaryCodec.nextFrame(both));
+        assertEquals(0, both.position());
+        both.limit(both.capacity());
+        int length = BinaryCodec.nextFrame(both);
+        assertEquals(firstLength - 1, length);
+        both.position(both.position() + length);
+        assertTrue(BinaryCodec.nextFrame(both) > 0);
+    }
+
+    @Test
+    void testInvalidFrame() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.nextFrame(ByteBuffer.wrap(new byte[] {0})));
+        byte[] tooLong = {(byte)0xFF, (byte)0xFF, (byte)0xFF, 0x01};
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.nextFrame(ByteBuffer.wrap(tooLong)));
+        ByteBuffer truncated = ByteBuffer.wrap(new byte[] {(byte)Keyword.MOVE.ordinal()});
+        assertFalse(BinaryCodec.decode(truncated, BOARD_SIZE).isValid());
+    }
+
+    @Test
+    void testProtocolReader() throws Exception {
+        ByteBuffer frame = BinaryCodec.encode(parser.decode("VALID white 2 3"), BOARD_SIZE);
+        byte[] line = "BINARY\r\n".getBytes();
+        byte[] stream = new byte[line.length + frame.remaining()];
+        System.arraycopy(line, 0, stream, 0, line.length);
+        frame.get(stream, line.length, frame.remaining());
+        ProtocolReader reader = new ProtocolReader(new ByteArrayInputStream(stream));
+        assertEquals("BINARY", reader.readLine());
+        assertEquals("VALID white 2 3", reader.readFrame(BOARD_SIZE).getLine());
+        assertNull(reader.readFrame(BOARD_SIZE));
+    }
+
+    private Command roundTrip(Command command) {
+        ByteBuffer frame = BinaryCodec.encode(command, BOARD_SIZE);
+        int length = BinaryCodec.nextFrame(frame);
+        assertEquals(frame.remaining(), length);
+        return BinaryCodec.decode(frame.slice(), BOARD_SIZE);
+    }
+}
@@ -40,7 +40,7 @@ class ComToolboxTest {
     private String tableFlip = TABLEFLIP.toString();
     private String chat = CHAT + SPACE + NAME1 + ":" + SPACE + NAME2;
     private String waiting = WAITING.toString();
-    private String ready = READY + SPACE + INT9 + SPACE + STONE1.toString().toLowerCase() + SPACE + NAME1 + SPACE + STONE2.toString().toLowerCase() + SPACE + NAME2;
+    private String ready = READY + SPACE + STONE1.toString().toLowerCase() + SPACE + NAME2 + SPACE + BOARD_SIZE_MIN;
     private String valid = VALID + SPACE + STONE1.toString().toLowerCase() + SPACE + INT9 + SPACE + INT9;
     private String invalid = INVALID + SPACE + STONE1.toString().toLowerCase() + SPACE + NAME1;
     private String passed = PASSED + SPACE + STONE1.toString().toLowerCase();
@@ -52,7 +52,7 @@ class ComToolboxTest {
     private String[] splitString2 = {"WHITE"};
     private int[] scores = {INT8, INT9};
     private List<Player> players = new ArrayList<>();
-    private Game game = new Game(5, 1, 2, false);
+    private Game game = new Game(BOARD_SIZE_MIN, 1, 2);
 
     private String commandPlayer;
     private String commandGo;
@@ -74,12 +74,10 @@ class ComToolboxTest {
     void setUp() {
         this.newPlayer1 = new Player(NAME1);
         this.newPlayer2 = new Player(NAME2);
-        newPlayer1.setStone(BLACK);
-        newPlayer2.setStone(WHITE);
         players.add(newPlayer1);
         players.add(newPlayer2);
-        game.addPlayer(newPlayer1);
-        game.addPlayer(newPlayer2);
+        game.addPlayer(newPlayer1, STONE1);                                    // Not a random Stone, for the READY
+        game.addPlayer(newPlayer2, STONE2);
         commandPlayer = createCommandPlayer(newPlayer1);
         commandGo = createCommandGo(INT9);
         commandWaiting = createCommandWaiting();
@@ -210,6 +208,9 @@ class ComToolboxTest {
     void testIsGoCommand() {
         assertTrue(isGoCommand(commandGo));
         assertFalse(isGoCommand(commandPlayer));
+        assertTrue(isGoCommand(commandGo + SPACE + 3));
+        assertFalse(isGoCommand(commandGo + SPACE + 1));
+        assertFalse(isGoCommand(commandGo + SPACE + 7));
     }
 
     @Test
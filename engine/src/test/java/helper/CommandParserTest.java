@@ -0,0 +1,138 @@
+package helper;
+
+import helper.commands.*;
+import helper.enums.Keyword;
+import helper.enums.Stone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static helper.CommandToolbox.*;
+import static helper.enums.Keyword.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class CommandParserTest {
+
+    private static final String[] LINES = {"", " ", "PLAYER", "PLAYER name", "PLAYER name other", "player name",
+            "PLAYER name BINARY", "PLAYER name binary", "BINARY", "BINARY 1", "GO", "GO 9", "GO 9 ", "GO 8", "GO 9 3",
+            "GO 9 7", "GO 9 1", "GO  9", "GO +9", "GO 99999999999", "GO x",
+            "WAITING", "WAITING 1", "CANCEL", "CANCEL ", " CANCEL", "READY black name 9", "READY purple name 9",
+            "READY white name 9 red", "READY white name 9 red green", "MOVE 1 2", "MOVE -1 2", "MOVE 1  2",
+            "MOVE 1 2 3", "MOVE 1 b", "MOVE 2147483648 1", "VALID black 1 2", "VALID Empty 1 2", "VALID black 1",
+            "INVALID white", "INVALID white Not player's turn", "INVALID", "PASS", "PASSED red", "PASSED",
+            "TABLEFLIP", "TABLEFLIPPED blue", "TABLEFLIPPED", "HINT", "CHAT", "CHAT ", "CHAT hello there",
+            "CHAT  spaced", "CHAT a b c d e f g h i j k l m n o p q r s", "WARNING something", "WARNING",
+            "END 1 2", "END 1", "END a b", "END -1 -1", "END 1 2 3 4 5 6", "MOVE"};
+
+    private CommandParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new CommandParser();
+    }
+
+    @Test
+    void testSameAsToolbox() {
+        for (String line : LINES) {
+            assertEquals(toolboxKeyword(line), parser.parse(line), line);
+        }
+    }
+
+    @Test
+    void testArguments() {
+        assertEquals(MOVE, parser.parse("MOVE 3 -4"));
+        assertEquals(3, parser.getInt(1));
+        assertEquals(-4, parser.getInt(2));
+        assertEquals(GO, parser.parse("GO 13 3"));
+        assertEquals(3, parser.getWordCount());
+        assertEquals(13, parser.getInt(1));
+        assertEquals(CHAT, parser.parse("CHAT hello  there"));
+        assertEquals("hello  there", parser.getRest(1));
+        assertEquals(PLAYER, parser.parse("PLAYER mark"));
+        assertEquals("mark", parser.getWord(1));
+        assertNull(parser.parse("MOVE 1"));
+        assertNull(parser.getKeyword());
+    }
+
+    @Test
+    void testDecode() {
+        MoveCommand valid = (MoveCommand)parser.decode("VALID white 3 4");
+        assertEquals(VALID, valid.getKeyword());
+        assertEquals(Stone.WHITE, valid.getStone());
+        assertEquals(3, valid.getX());
+        assertEquals(4, valid.getY());
+        GoCommand go = (GoCommand)parser.decode("GO 9");
+        assertEquals(9, go.getBoardSize());
+        assertFalse(go.hasPlayersPerGame());
+        ReadyCommand ready = (ReadyCommand)parser.decode("READY black name 9 red green");
+        assertEquals(Stone.BLACK, ready.getStone());
+        assertEquals("name", ready.getName());
+        assertEquals(4, ready.getNumberOfPlayers());
+        assertEquals("green", ready.getOther(1));
+        StoneCommand invalid = (StoneCommand)parser.decode("INVALID red Not player's turn");
+        assertEquals("Not player's turn", invalid.getReason());
+        EndCommand end = (EndCommand)parser.decode("END 12 -3");
+        assertEquals(2, end.getNumberOfScores());
+        assertEquals(-3, end.getScore(1));
+        assertEquals("CHAT hi", parser.decode("CHAT hi").getLine());
+        assertFalse(parser.decode("END 1 a").isValid());
+        assertFalse(parser.decode("MOVE 1").isValid());
+    }
+
+    private Keyword toolboxKeyword(String line) {
+        if (isPlayerCommand(line)) {
+            return PLAYER;
+        }
+        if (isGoCommand(line)) {
+            return GO;
+        }
+        if (isWaitingCommand(line)) {
+            return WAITING;
+        }
+        if (isCancelCommand(line)) {
+            return CANCEL;
+        }
+        if (isReadyCommand(line)) {
+            return READY;
+        }
+        if (isMoveCommand(line)) {
+            return MOVE;
+        }
+        if (isValidCommand(line)) {
+            return VALID;
+        }
+        if (isInvalidCommand(line)) {
+            return INVALID;
+        }
+        if (isPassCommand(line)) {
+            return PASS;
+        }
+        if (isPassedCommand(line)) {
+            return PASSED;
+        }
+        if (isTableFlipCommand(line)) {
+            return TABLEFLIP;
+        }
+        if (isTableFlippedCommand(line)) {
+            return TABLEFLIPPED;
+        }
+        if (isHintCommand(line)) {
+            return HINT;
+        }
+        if (isChatCommand(line)) {
+            return CHAT;
+        }
+        if (isWarningCommand(line)) {
+            return WARNING;
+        }
+        if (isEndCommand(line)) {
+            return END;
+        }
+        if (isBinaryCommand(line)) {
+            return BINARY;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class HistogramTest {
+
+    private Histogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new Histogram();
+    }
+
+    @Test
+    void testPercentiles() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(100, histogram.getValueAtPercentile(10));
+        assertEquals(500, histogram.getValueAtPercentile(50), 500 / 64.0);
+        assertEquals(990, histogram.getValueAtPercentile(99), 990 / 64.0);
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void testLargeValues() {
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+        long value = 123_456_789L;
+        histogram.reset();
+        histogram.record(value);
+        assertEquals(value, histogram.getValueAtPercentile(50));
+        assertEquals(0, new Histogram().getValueAtPercentile(50));
+    }
+
+    @Test
+    void testAdd() {
+        Histogram other = new Histogram();
+        histogram.record(10);
+        other.record(20);
+        other.record(30);
+        histogram.add(other);
+        assertEquals(3, histogram.getCount());
+        assertEquals(30, histogram.getMax());
+        assertEquals(20, histogram.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,50 @@
+package helper;
+
+import helper.enums.LogLevel;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class LoggerTest {
+
+    @Test
+    void testLevels() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Logger logger = new Logger("Test logger", LogLevel.INFO, 16, new PrintStream(bytes));
+        assertTrue(logger.isEnabled(LogLevel.ERROR));
+        assertTrue(logger.isEnabled(LogLevel.INFO));
+        assertFalse(logger.isEnabled(LogLevel.DEBUG));
+        logger.debug("hidden");
+        logger.info("shown");
+        logger.close();
+        String output = bytes.toString();
+        assertTrue(output.contains("INFO [main] shown"));
+        assertFalse(output.contains("hidden"));
+    }
+
+    @Test
+    void testFlushKeepsOrder() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Logger logger = new Logger("Test logger", LogLevel.DEBUG, 1024, new PrintStream(bytes));
+        for (int i = 0; i < 100; i++) {
+            logger.debug("line " + i);
+        }
+        logger.flush();
+        String output = bytes.toString();
+        assertTrue(output.indexOf("line 0") < output.indexOf("line 99"));
+        assertEquals(0, logger.getDropped());
+        logger.close();
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(LogLevel.DEBUG, LogLevel.parse("debug", LogLevel.INFO));
+        assertEquals(LogLevel.INFO, LogLevel.parse("verbose", LogLevel.INFO));
+        assertEquals(LogLevel.INFO, LogLevel.parse(null, LogLevel.INFO));
+    }
+}
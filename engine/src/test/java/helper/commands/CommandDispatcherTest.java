@@ -0,0 +1,51 @@
+package helper.commands;
+
+import helper.CommandParser;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static helper.enums.Keyword.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class CommandDispatcherTest {
+
+    private CommandParser parser;
+    private CommandDispatcher<List<String>> dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        parser = new CommandParser();
+        dispatcher = new CommandDispatcher<>((handled, command) -> handled.add("fallback " + command.getLine()));
+        dispatcher.register(MOVE, MoveCommand.class,
+                (handled, command) -> handled.add("move " + command.getX() + command.getY()));
+        dispatcher.register(CHAT, TextCommand.class, (handled, command) -> handled.add("chat " + command.getText()));
+    }
+
+    @Test
+    void testDispatch() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.dispatch(handled, parser.decode("MOVE 1 2"));
+        dispatcher.dispatch(handled, parser.decode("CHAT hello"));
+        dispatcher.dispatch(handled, parser.decode("PASS"));
+        dispatcher.dispatch(handled, parser.decode("MOVE x"));
+        assertEquals(List.of("move 12", "chat hello", "fallback PASS", "fallback MOVE x"), handled);
+    }
+
+    @Test
+    void testCounts() {
+        List<String> handled = new ArrayList<>();
+        dispatcher.dispatch(handled, parser.decode("MOVE 1 2"));
+        dispatcher.dispatch(handled, parser.decode("MOVE 3 4"));
+        dispatcher.dispatch(handled, parser.decode("PASS"));
+        dispatcher.dispatch(handled, parser.decode("nonsense"));
+        assertEquals(2, dispatcher.getCount(MOVE));
+        assertEquals(1, dispatcher.getCount(PASS));
+        assertEquals(0, dispatcher.getCount(CHAT));
+        assertEquals(1, dispatcher.getInvalidCount());
+    }
+}
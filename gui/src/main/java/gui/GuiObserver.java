@@ -0,0 +1,55 @@
+package gui;
+
+import com.nedap.go.gui.GoGUIIntegrator;
+import game.BoardObserver;
+import helper.enums.Stone;
+
+import static helper.enums.Stone.*;
+
+/**
+ * The GuiObserver shows the board of a Game in the GoGUIIntegrator. There is only one GUI, which is started by the
+ * first observer and reused, at the new board size, by the observers of the next games.
+ * @author Mark Banierink
+ */
+public class GuiObserver implements BoardObserver {
+
+    private static GoGUIIntegrator goGui;
+
+    @Override
+    public void boardStarted(int boardSize) {
+        synchronized (GuiObserver.class) {
+            if (goGui == null) {
+                goGui = new GoGUIIntegrator(true, true, boardSize);
+                goGui.startGUI();
+            }
+            else {
+                goGui.setBoardSize(boardSize);
+            }
+        }
+    }
+
+    @Override
+    public void stonePlaced(int x, int y, Stone stone) {
+        goGui.addStone(x, y, stone.equals(WHITE));
+    }
+
+    @Override
+    public void stoneRemoved(int x, int y) {
+        goGui.removeStone(x, y);
+    }
+
+    @Override
+    public void hintShown(int x, int y) {
+        goGui.addHintIndicator(x, y);
+    }
+
+    @Override
+    public void hintRemoved() {
+        goGui.removeHintIdicator();
+    }
+
+    @Override
+    public void gameClosed() {
+        goGui.stopGUI();
+    }
+}
@@ -0,0 +1,275 @@
+package loadtest;
+
+import game.Game;
+import game.Player;
+import helper.BinaryCodec;
+import helper.CommandParser;
+import helper.commands.*;
+import helper.enums.Stone;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static helper.CommandToolbox.*;
+
+/**
+ * A Bot is one simulated computer player on its own connection. It plays random valid moves that do not fill its own
+ * eyes, like the RandomStrategy, keeps the game on its side with the engine and asks for a new game as soon as one
+ * ends. All of it runs on the thread of the Driver of the bot.
+ * @author Mark Banierink
+ */
+public class Bot {
+
+    private static final int INPUT_BUFFER_SIZE = 4096;
+    private static final byte NEW_LINE = '\n';
+    private static final Stone[] STONES = Stone.values();
+
+    private final SocketChannel channel;
+    private final String name;
+    private final int boardSize;
+    private final boolean binary;
+    private final LoadStats stats;
+    private final Random random;
+    private final CommandParser parser = new CommandParser();
+    private final Deque<ByteBuffer> output = new ArrayDeque<>();
+    private ByteBuffer input = ByteBuffer.allocate(INPUT_BUFFER_SIZE);
+    private SelectionKey key;
+    private boolean framed;                                                     // The server switched to binary
+    private Game game;
+    private Stone stone;
+    private long moveSentAt;
+
+    /**
+     * Constructor of the Bot
+     * @param channel the connected SocketChannel, in non-blocking mode
+     * @param name the unique name of the player
+     * @param boardSize the board size the bot asks for
+     * @param binary true if the bot asks for the binary protocol
+     * @param stats the LoadStats to record in
+     * @param seed the seed of the moves of this bot
+     */
+    public Bot(SocketChannel channel, String name, int boardSize, boolean binary, LoadStats stats, long seed) {
+        this.channel = channel;
+        this.name = name;
+        this.boardSize = boardSize;
+        this.binary = binary;
+        this.stats = stats;
+        this.random = new Random(seed);
+    }
+
+    protected SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Introduces the player; a bot with the binary protocol waits for BINARY before it asks for a game
+     * @param key the SelectionKey of the channel
+     */
+    protected void start(SelectionKey key) throws IOException {
+        this.key = key;
+        Player player = new Player(name);
+        if (binary) {
+            sendLine(createCommandPlayerBinary(player));
+        }
+        else {
+            sendLine(createCommandPlayer(player));
+            sendLine(createCommandGo(boardSize));
+        }
+    }
+
+    /**
+     * Reads what is available and handles every complete line or frame
+     * @return false if the connection is closed
+     */
+    protected boolean read() throws IOException {
+        if (channel.read(input) == -1) {
+            return false;
+        }
+        byte[] bytes = input.array();
+        int start = 0;
+        int end = input.position();
+        while (start < end) {
+            int next = framed ? handleFrame(bytes, start, end) : handleLine(bytes, start, end);
+            if (next == start) {
+                break;
+            }
+            start = next;
+        }
+        input.flip().position(start);
+        input.compact();
+        if (!input.hasRemaining()) {
+            input = ByteBuffer.allocate(input.capacity() * 2).put(input.flip());
+        }
+        return true;
+    }
+
+    private int handleLine(byte[] bytes, int start, int end) throws IOException {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == NEW_LINE) {
+                int length = i - start;
+                if (length > 0 && bytes[i - 1] == '\r') {
+                    length--;
+                }
+                handle(parser.decode(new String(bytes, start, length, StandardCharsets.UTF_8)));
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
+    private int handleFrame(byte[] bytes, int start, int end) throws IOException {
+        ByteBuffer frames = ByteBuffer.wrap(bytes, start, end - start);
+        int length = BinaryCodec.nextFrame(frames);
+        if (length < 0) {
+            return start;
+        }
+        int opcode = frames.position();
+        handle(BinaryCodec.decode(ByteBuffer.wrap(bytes, opcode, length).slice(), currentBoardSize()));
+        return opcode + length;
+    }
+
+    private void handle(Command command) throws IOException {
+        stats.messageIn();
+        if (!command.isValid() || (game == null && isGameCommand(command))) {
+            return;                                                             // Like the notice of a removed game
+        }
+        switch (command.getKeyword()) {
+            case BINARY:
+                framed = true;
+                sendLine(createCommandGo(boardSize));
+                break;
+            case READY:
+                startGame((ReadyCommand)command);
+                break;
+            case VALID:
+                MoveCommand move = (MoveCommand)command;
+                game.move(move.getStone(), move.getX(), move.getY());
+                answered(move.getStone());
+                break;
+            case PASSED:
+                game.pass();
+                answered(((StoneCommand)command).getStone());
+                break;
+            case INVALID:
+                stats.error();
+                if (((StoneCommand)command).getStone() == stone) {
+                    stats.recordRoundTrip(System.nanoTime() - moveSentAt);
+                    sendMove(createCommandPass());
+                }
+                break;
+            case WARNING:
+                if (game == null && isGoCommand(((TextCommand)command).getText())) {
+                    sendLine(createCommandGo(boardSize));                      // The last game was not removed yet
+                }
+                else {
+                    stats.error();
+                }
+                break;
+            case TABLEFLIPPED:
+                game = null;
+                break;
+            case END:
+                stats.gameEnded();
+                game = null;
+                sendLine(createCommandGo(boardSize));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean isGameCommand(Command command) {
+        switch (command.getKeyword()) {
+            case VALID:
+            case PASSED:
+            case INVALID:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void startGame(ReadyCommand ready) throws IOException {
+        stone = ready.getStone();
+        game = new Game(ready.getBoardSize(), 1, ready.getNumberOfPlayers());
+        for (int i = 1; i <= ready.getNumberOfPlayers(); i++) {
+            game.addPlayer(new Player(name + i), STONES[i]);
+        }
+        playIfTurn();
+    }
+
+    private void answered(Stone mover) throws IOException {
+        if (mover == stone) {
+            stats.recordRoundTrip(System.nanoTime() - moveSentAt);
+        }
+        playIfTurn();
+    }
+
+    private void playIfTurn() throws IOException {
+        if (game == null || game.isFinished() || game.getTurn() != stone) {
+            return;
+        }
+        int size = game.getBoard().getBoardSize();
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(size);
+            int y = random.nextInt(size);
+            if (!game.isEye(stone, x, y) && game.isValidMove(stone, x, y)) {
+                sendMove(createCommandMove(x, y));
+                return;
+            }
+        }
+        sendMove(createCommandPass());
+    }
+
+    private void sendMove(String line) throws IOException {
+        moveSentAt = System.nanoTime();
+        sendLine(line);
+    }
+
+    private void sendLine(String line) throws IOException {
+        ByteBuffer buffer;
+        if (framed) {
+            buffer = BinaryCodec.encode(parser.decode(line), currentBoardSize());
+        }
+        else {
+            buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        stats.messageOut();
+        output.add(buffer);
+        flush();
+    }
+
+    /**
+     * Writes what is queued until the channel is full, in which case the Driver calls it again when it is writable
+     */
+    protected void flush() throws IOException {
+        while (!output.isEmpty()) {
+            channel.write(output.peek());
+            if (output.peek().hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            output.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private int currentBoardSize() {
+        return game == null ? boardSize : game.getBoard().getBoardSize();
+    }
+
+    protected void close() {
+        key.cancel();
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            // Closing anyway
+        }
+    }
+}
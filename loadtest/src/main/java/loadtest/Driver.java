@@ -0,0 +1,94 @@
+package loadtest;
+
+import java.io.IOException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A Driver runs a share of the bots on one thread with one Selector, so thousands of connections need only as many
+ * threads as there are processors.
+ * @author Mark Banierink
+ */
+public class Driver implements Runnable {
+
+    private final Selector selector;
+    private final Queue<Bot> added = new ConcurrentLinkedQueue<>();
+    private final LoadStats stats;
+    private volatile boolean stop;
+
+    /**
+     * Constructor of the Driver
+     * @param stats the LoadStats to report lost connections in
+     */
+    public Driver(LoadStats stats) throws IOException {
+        this.selector = Selector.open();
+        this.stats = stats;
+    }
+
+    /**
+     * Hands a connected bot to this Driver, which starts it on its own thread
+     * @param bot the Bot to add
+     */
+    public void add(Bot bot) {
+        added.add(bot);
+        selector.wakeup();
+    }
+
+    public void stop() {
+        stop = true;
+        selector.wakeup();
+    }
+
+    public void run() {
+        try {
+            while (!stop) {
+                selector.select();
+                startAdded();
+                for (SelectionKey key : selector.selectedKeys()) {
+                    serve(key);
+                }
+                selector.selectedKeys().clear();
+            }
+            for (SelectionKey key : selector.keys()) {
+                ((Bot)key.attachment()).close();
+            }
+            selector.close();
+        }
+        catch (IOException | ClosedSelectorException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    private void startAdded() {
+        Bot bot;
+        while ((bot = added.poll()) != null) {
+            try {
+                bot.getChannel().configureBlocking(false);
+                bot.start(bot.getChannel().register(selector, SelectionKey.OP_READ, bot));
+            }
+            catch (IOException e) {
+                stats.connectFailed();
+            }
+        }
+    }
+
+    private void serve(SelectionKey key) {
+        Bot bot = (Bot)key.attachment();
+        try {
+            if (key.isValid() && key.isWritable()) {
+                bot.flush();
+            }
+            if (key.isValid() && key.isReadable() && !bot.read()) {
+                stats.error();
+                bot.close();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            stats.error();
+            bot.close();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package loadtest;
+
+import helper.Histogram;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The LoadGenerator connects a number of bots to a running server, lets them play for a while and measures the round
+ * trip of every move, from sending it to receiving its VALID, PASSED or INVALID, and the number of messages per
+ * second. The result is printed and added as one line to a CSV file, with the settings of the run in the same line,
+ * so the runs against different versions of the server can be compared. It is started without prompts, for example
+ * with --clients 2000 --board 9 --duration 60 --label nio.
+ * @author Mark Banierink
+ */
+public class LoadGenerator {
+
+    private static final String CSV_HEADER = "time,label,clients,boardSize,binary,warmupSeconds,seconds,games,moves,"
+            + "messagesIn,messagesOut,messagesPerSecond,p50Micros,p99Micros,p999Micros,maxMicros,errors,"
+            + "connectFailures";
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("host", "localhost");
+        DEFAULTS.put("port", "2727");
+        DEFAULTS.put("clients", "100");
+        DEFAULTS.put("board", "9");
+        DEFAULTS.put("binary", "false");
+        DEFAULTS.put("warmup", "5");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("rate", "500");
+        DEFAULTS.put("threads", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        DEFAULTS.put("seed", "1");
+        DEFAULTS.put("label", "");
+        DEFAULTS.put("out", "load-results.csv");
+    }
+
+    private final Map<String, String> settings;
+    private final LoadStats stats = new LoadStats();
+    private final List<Driver> drivers = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings;
+        try {
+            settings = parseArguments(args);
+        }
+        catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Settings, with their defaults: " + DEFAULTS);
+            System.exit(1);
+            return;
+        }
+        new LoadGenerator(settings).run();
+    }
+
+    /**
+     * Constructor of the LoadGenerator
+     * @param settings the settings, every one of DEFAULTS
+     */
+    public LoadGenerator(Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Reads the arguments as pairs of --setting value
+     * @param args the arguments of the program
+     * @return Map with every setting, the defaults for the ones that were not given
+     * @throws IllegalArgumentException if a setting is unknown or has no value
+     */
+    public static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+        for (int i = 0; i < args.length; i += 2) {
+            String setting = args[i].startsWith("--") ? args[i].substring(2) : args[i];
+            if (!DEFAULTS.containsKey(setting) || i + 1 == args.length) {
+                throw new IllegalArgumentException("Unknown setting or missing value: " + args[i]);
+            }
+            settings.put(setting, args[i + 1]);
+        }
+        return settings;
+    }
+
+    /**
+     * Connects the bots, measures after the warm-up and writes the result
+     */
+    public void run() throws IOException, InterruptedException {
+        List<Thread> threads = startDrivers(getInt("threads"));
+        long start = System.nanoTime();
+        connectBots();
+        System.out.printf(Locale.ROOT, "Connected %d bots in %.1f s%n", getInt("clients") - stats.getConnectFailures(),
+                (System.nanoTime() - start) / 1e9);
+        Thread.sleep(getInt("warmup") * 1000L);
+        stats.start();
+        Thread.sleep(getInt("duration") * 1000L);
+        stats.stop();
+        for (Driver driver : drivers) {
+            driver.stop();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        String result = result();
+        System.out.println(CSV_HEADER);
+        System.out.println(result);
+        writeResult(Path.of(settings.get("out")), result);
+    }
+
+    private List<Thread> startDrivers(int number) throws IOException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            Driver driver = new Driver(stats);
+            drivers.add(driver);
+            Thread thread = new Thread(driver, "Driver " + (i + 1));
+            thread.start();
+            threads.add(thread);
+        }
+        return threads;
+    }
+
+    /**
+     * Connects the bots at the given rate, so the server is not flooded with connections all at once
+     */
+    private void connectBots() throws InterruptedException {
+        InetSocketAddress address = new InetSocketAddress(settings.get("host"), getInt("port"));
+        String run = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36);  // Unique names for every run
+        long seed = Long.parseLong(settings.get("seed"));
+        long interval = 1_000_000_000L / Math.max(1, getInt("rate"));
+        long next = System.nanoTime();
+        for (int i = 0; i < getInt("clients"); i++) {
+            try {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.socket().setTcpNoDelay(true);
+                drivers.get(i % drivers.size()).add(new Bot(channel, "bot" + run + "x" + i, getInt("board"),
+                        Boolean.parseBoolean(settings.get("binary")), stats, seed + i));
+            }
+            catch (IOException e) {
+                stats.connectFailed();
+            }
+            next += interval;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                Thread.sleep(wait / 1_000_000, (int)(wait % 1_000_000));
+            }
+        }
+    }
+
+    private String result() {
+        Histogram latency = stats.getLatency();
+        double seconds = stats.getSeconds();
+        return String.join(",", Instant.now().toString(), settings.get("label"), settings.get("clients"),
+                settings.get("board"), settings.get("binary"), settings.get("warmup"),
+                String.format(Locale.ROOT, "%.3f", seconds), String.valueOf(stats.getGames()),
+                String.valueOf(stats.getMoves()), String.valueOf(stats.getMessagesIn()),
+                String.valueOf(stats.getMessagesOut()),
+                String.format(Locale.ROOT, "%.1f", (stats.getMessagesIn() + stats.getMessagesOut()) / seconds),
+                String.valueOf(latency.getValueAtPercentile(50)), String.valueOf(latency.getValueAtPercentile(99)),
+                String.valueOf(latency.getValueAtPercentile(99.9)), String.valueOf(latency.getMax()),
+                String.valueOf(stats.getErrors()), String.valueOf(stats.getConnectFailures()));
+    }
+
+    private static void writeResult(Path path, String result) throws IOException {
+        boolean exists = Files.exists(path);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND); PrintWriter out = new PrintWriter(writer)) {
+            if (!exists) {
+                out.println(CSV_HEADER);
+            }
+            out.println(result);
+        }
+    }
+
+    private int getInt(String setting) {
+        return Integer.parseInt(settings.get(setting));
+    }
+}
@@ -0,0 +1,113 @@
+package loadtest;
+
+import helper.Histogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadStats collects what all bots measure. Nothing is counted until the warm-up is over, so every run measures the
+ * same steady state.
+ * @author Mark Banierink
+ */
+public class LoadStats {
+
+    private final Histogram latency = new Histogram();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private volatile boolean measuring;
+    private long startNanos;
+    private long endNanos;
+
+    /**
+     * Starts measuring and forgets what was counted during the warm-up
+     */
+    public void start() {
+        latency.reset();
+        messagesIn.reset();
+        messagesOut.reset();
+        moves.reset();
+        games.reset();
+        errors.reset();
+        startNanos = System.nanoTime();
+        measuring = true;
+    }
+
+    public void stop() {
+        measuring = false;
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the time between sending a move and receiving the answer of the server
+     * @param nanos the round trip in nanoseconds
+     */
+    public void recordRoundTrip(long nanos) {
+        if (measuring) {
+            latency.record(nanos / 1000);
+            moves.increment();
+        }
+    }
+
+    public void messageIn() {
+        if (measuring) {
+            messagesIn.increment();
+        }
+    }
+
+    public void messageOut() {
+        if (measuring) {
+            messagesOut.increment();
+        }
+    }
+
+    public void gameEnded() {
+        if (measuring) {
+            games.increment();
+        }
+    }
+
+    public void error() {
+        if (measuring) {
+            errors.increment();
+        }
+    }
+
+    public void connectFailed() {
+        connectFailures.increment();
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public double getSeconds() {
+        return (endNanos - startNanos) / 1e9;
+    }
+
+    public long getMessagesIn() {
+        return messagesIn.sum();
+    }
+
+    public long getMessagesOut() {
+        return messagesOut.sum();
+    }
+
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getGames() {
+        return games.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getConnectFailures() {
+        return connectFailures.sum();
+    }
+}
@@ -0,0 +1,260 @@
+package server;
+
+import helper.BinaryCodec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static helper.enums.Resources.*;
+
+/**
+ * The ChannelClientHandler manages a non-blocking connection that is served by an EventLoop. Incoming bytes are
+ * collected in one reusable buffer and split into lines, or into frames once the client uses the binary protocol;
+ * outgoing lines are queued by any thread and written by the loop thread once per turn of the loop, all lines that
+ * were queued in the meantime with one gathering write.
+ * @author Mark Banierink
+ */
+public class ChannelClientHandler extends ClientHandler {
+
+    private static final int INPUT_BUFFER_SIZE = 1024;
+    private static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int MAX_GATHER = 64;
+
+    private SocketChannel channel;
+    private EventLoop eventLoop;
+    private SelectionKey key;
+    private ByteBuffer input = ByteBuffer.allocate(INPUT_BUFFER_SIZE);
+    private Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+    private Deque<ByteBuffer> pending = new ArrayDeque<>();                    // Only touched by the loop thread
+    private ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+    private AtomicBoolean flushScheduled = new AtomicBoolean();
+    private boolean closing;
+
+    /**
+     * Constructor of the ChannelClientHandler
+     * @param server Server object
+     * @param channel SocketChannel of the connection, in non-blocking mode
+     * @param eventLoop the EventLoop that serves this connection
+     */
+    public ChannelClientHandler(Server server, SocketChannel channel, EventLoop eventLoop) {
+        super(server);
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+    }
+
+    protected SocketChannel getChannel() {
+        return channel;
+    }
+
+    protected void setKey(SelectionKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Reads what is available on the channel and passes every complete line or frame to the server. Called by the
+     * loop thread
+     */
+    protected void read() {
+        int read;
+        try {
+            read = channel.read(input);
+        }
+        catch (IOException e) {
+            read = -1;
+        }
+        if (read == -1) {
+            connectionLost();
+            return;
+        }
+        if (!handleInput()) {
+            connectionLost();
+            return;
+        }
+        if (!input.hasRemaining()) {
+            if (input.capacity() == MAX_LINE_LENGTH) {
+                connectionLost();
+                return;
+            }
+            input = ByteBuffer.allocate(Math.min(input.capacity() * 2, MAX_LINE_LENGTH)).put(input.flip());
+        }
+        if (stop) {
+            shutDown();
+        }
+    }
+
+    /**
+     * Passes every complete line or frame in the input buffer on and keeps the incomplete rest
+     * @return false if the client sent a frame that is not valid
+     */
+    private boolean handleInput() {
+        byte[] bytes = input.array();
+        int start = 0;
+        int end = input.position();
+        boolean valid = true;
+        while (start < end && !stop && !closing) {
+            int next = binary ? handleFrame(bytes, start, end) : handleLine(bytes, start, end);
+            if (next == start) {
+                break;
+            }
+            if (next < 0) {
+                valid = false;
+                break;
+            }
+            start = next;
+        }
+        input.flip().position(start);
+        input.compact();
+        return valid;
+    }
+
+    private int handleLine(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == NEW_LINE) {
+                int length = i - start;
+                if (length > 0 && bytes[i - 1] == CARRIAGE_RETURN) {
+                    length--;
+                }
+                handleClientInput(new String(bytes, start, length, StandardCharsets.UTF_8));
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
+    private int handleFrame(byte[] bytes, int start, int end) {
+        ByteBuffer frames = ByteBuffer.wrap(bytes, start, end - start);
+        int length;
+        try {
+            length = BinaryCodec.nextFrame(frames);
+        }
+        catch (IllegalArgumentException e) {
+            return -1;
+        }
+        if (length < 0) {
+            return start;
+        }
+        int opcode = frames.position();
+        handleClientInput(BinaryCodec.decode(ByteBuffer.wrap(bytes, opcode, length).slice(), getBoardSize()));
+        return opcode + length;
+    }
+
+    private void connectionLost() {
+        closeChannel();                                                         // First, so close() does not flush
+        logger.debug(CONNECTION_LOST.toString());
+        server.removeClientHandler(this);
+    }
+
+    @Override
+    protected void write(ByteBuffer buffer) {
+        server.getMetrics().queued(1);
+        output.add(buffer.duplicate());
+        if (flushScheduled.compareAndSet(false, true)) {
+            eventLoop.scheduleFlush(this);
+        }
+    }
+
+    /**
+     * Writes the queued lines until the channel is full, in which case the loop waits for it to become writable.
+     * Called by the loop thread
+     */
+    protected void flush() {
+        flushScheduled.set(false);
+        if (!channel.isOpen()) {
+            discardOutput();
+            return;
+        }
+        try {
+            ByteBuffer buffer;
+            while ((buffer = output.poll()) != null) {
+                pending.add(buffer);
+            }
+            while (!pending.isEmpty()) {
+                if (!writePending()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            if (key != null && key.isValid()) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+            if (closing) {
+                closeChannel();
+            }
+        }
+        catch (IOException e) {
+            connectionLost();
+        }
+    }
+
+    /**
+     * Writes the first pending lines with one gathering write and drops the ones that were written completely
+     * @return true if everything that was offered was written, false if the channel is full
+     * @throws IOException if the channel can not be written
+     */
+    private boolean writePending() throws IOException {
+        int count = 0;
+        long offered = 0;
+        for (ByteBuffer buffer : pending) {
+            gather[count++] = buffer;
+            offered += buffer.remaining();
+            if (count == MAX_GATHER) {
+                break;
+            }
+        }
+        long written = channel.write(gather, 0, count);
+        int done = 0;
+        while (!pending.isEmpty() && !pending.peek().hasRemaining()) {
+            pending.poll();
+            done++;
+        }
+        server.getMetrics().queued(-done);
+        Arrays.fill(gather, 0, count, null);
+        return written == offered;
+    }
+
+    /**
+     * Closes the connection as soon as the lines that are queued so far have been written
+     */
+    @Override
+    protected void close() {
+        eventLoop.execute(() -> {
+            closing = true;
+            flush();
+        });
+    }
+
+    protected void closeChannel() {
+        if (key != null) {
+            key.cancel();
+        }
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            logger.warning(e.getMessage());
+        }
+        discardOutput();
+    }
+
+    /**
+     * Drops what can no longer be written, so it does not count as queued anymore. Called by the loop thread
+     */
+    private void discardOutput() {
+        int dropped = pending.size();
+        pending.clear();
+        while (output.poll() != null) {
+            dropped++;
+        }
+        server.getMetrics().queued(-dropped);
+    }
+}
@@ -0,0 +1,109 @@
+package server;
+
+import helper.CommandParser;
+import helper.Logger;
+import helper.commands.Command;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static helper.enums.Resources.*;
+
+/**
+ * A ClientHandler represents the connection of one Client to the Server. Incoming lines are passed on to the server,
+ * outgoing lines are written by the subclass that implements the transport. A line that goes to several clients is
+ * encoded only once; every ClientHandler writes its own view of the same read-only buffer. A client that asked for
+ * the binary protocol at PLAYER time sends and receives binary frames from then on. The order of the output is kept
+ * with a ReentrantLock instead of a monitor, so a virtual thread that waits for it does not pin its carrier thread.
+ * @author Mark Banierink
+ */
+public abstract class ClientHandler {
+
+    protected Server server;
+    protected Logger logger;
+    private CommandParser parser = new CommandParser();                        // Only used by the reading thread
+    protected volatile boolean stop;
+    protected volatile boolean binary;                                         // Only switched while holding the lock
+    private final ReentrantLock outputLock = new ReentrantLock();
+    private volatile int boardSize;
+
+    /**
+     * Constructor of the ClientHandler
+     * @param server Server object
+     */
+    protected ClientHandler(Server server) {
+        this.server = server;
+        this.logger = server.getLogger();
+    }
+
+    protected CommandParser getParser() {
+        return parser;
+    }
+
+    /**
+     * Switches both directions to the binary protocol. Called by the thread reading the input, right after the
+     * PLAYER that asked for it, so the next input is read as frames. No other line can come between the
+     * acknowledgement, which is the last line in text, and the switch
+     * @param acknowledgement the line that tells the client to switch
+     */
+    protected void setBinary(String acknowledgement) {
+        outputLock.lock();
+        try {
+            write(new ServerMessage(acknowledgement).getText());
+            binary = true;
+        }
+        finally {
+            outputLock.unlock();
+        }
+    }
+
+    protected int getBoardSize() {
+        return boardSize;
+    }
+
+    protected void setBoardSize(int boardSize) {
+        this.boardSize = boardSize;
+    }
+
+    protected void handleClientInput(String string) {
+        server.handleClientInput(this, string);
+    }
+
+    protected void handleClientInput(Command command) {
+        server.handleClientInput(this, command);
+    }
+
+    protected void handleClientOutput(String string) {
+        handleClientOutput(new ServerMessage(string));
+    }
+
+    protected void handleClientOutput(ServerMessage message) {
+        outputLock.lock();
+        try {
+            write(binary ? message.getBinary(boardSize) : message.getText());
+        }
+        finally {
+            outputLock.unlock();
+        }
+    }
+
+    /**
+     * Writes an encoded line or frame to the client
+     * @param buffer the read-only buffer, shared with other ClientHandlers, so it is only read through a duplicate
+     */
+    protected abstract void write(ByteBuffer buffer);
+
+    protected void setStop() {
+        stop = true;
+    }
+
+    /**
+     * Closes the connection without further notice
+     */
+    protected abstract void close();
+
+    protected void shutDown() {
+        stop = true;
+        logger.debug(CLIENTHANDLER_CLOSED.toString());
+        close();
+    }
+}
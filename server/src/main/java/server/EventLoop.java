@@ -0,0 +1,151 @@
+package server;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * An EventLoop runs as a separate thread and serves the ChannelClientHandlers registered to it with one Selector.
+ * Work for the loop that comes from other threads, like registering a connection or writing a line, is queued as a
+ * task and picked up after the selector wakes up, so the channels and their keys are only touched by this thread.
+ * Connections that got output during a turn are flushed once, at the end of that turn.
+ * @author Mark Banierink
+ */
+public class EventLoop implements Runnable {
+
+    private Server server;
+    private Selector selector;
+    private Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private Queue<ChannelClientHandler> flushes = new ArrayDeque<>();          // Only touched by the loop thread
+    private volatile Thread thread;
+    private volatile boolean stop;
+
+    /**
+     * Constructor of the EventLoop
+     * @param server Server object
+     * @throws IOException if no Selector can be opened
+     */
+    public EventLoop(Server server) throws IOException {
+        this.server = server;
+        selector = Selector.open();
+    }
+
+    /**
+     * Registers a connection for reading. The registration itself is done by the loop thread
+     * @param clientHandler the ChannelClientHandler of the connection
+     */
+    protected void register(ChannelClientHandler clientHandler) {
+        execute(() -> {
+            try {
+                SelectionKey key = clientHandler.getChannel().register(selector, SelectionKey.OP_READ, clientHandler);
+                clientHandler.setKey(key);
+            }
+            catch (ClosedChannelException e) {
+                server.removeClientHandler(clientHandler);
+            }
+        });
+    }
+
+    /**
+     * Runs a task on the loop thread: immediately if called from it, otherwise after the next wake-up
+     * @param task the Runnable to execute
+     */
+    protected void execute(Runnable task) {
+        if (inEventLoop()) {
+            task.run();
+        }
+        else {
+            tasks.add(task);
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Makes the loop write the queued output of a connection: at the end of the current turn if called from the loop
+     * thread, otherwise after the next wake-up. Either way, lines that are queued before then go out together
+     * @param clientHandler the ChannelClientHandler with queued output
+     */
+    protected void scheduleFlush(ChannelClientHandler clientHandler) {
+        if (inEventLoop()) {
+            flushes.add(clientHandler);
+        }
+        else {
+            tasks.add(clientHandler::flush);
+            selector.wakeup();
+        }
+    }
+
+    protected boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    protected void setStop() {
+        stop = true;
+        selector.wakeup();
+    }
+
+    public void run() {
+        thread = Thread.currentThread();
+        while (!stop) {
+            try {
+                selector.select();
+            }
+            catch (IOException e) {
+                server.getLogger().warning(e.getMessage());
+                break;
+            }
+            runTasks();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                handleKey(key);
+            }
+            runFlushes();
+        }
+        shutDown();
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void runFlushes() {
+        ChannelClientHandler clientHandler;
+        while ((clientHandler = flushes.poll()) != null) {
+            clientHandler.flush();
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        ChannelClientHandler clientHandler = (ChannelClientHandler)key.attachment();
+        if (key.isValid() && key.isReadable()) {
+            clientHandler.read();
+        }
+        if (key.isValid() && key.isWritable()) {
+            clientHandler.flush();
+        }
+    }
+
+    private void shutDown() {
+        runTasks();
+        runFlushes();
+        for (SelectionKey key : selector.keys()) {
+            ((ChannelClientHandler)key.attachment()).closeChannel();
+        }
+        try {
+            selector.close();
+        }
+        catch (IOException e) {
+            server.getLogger().warning(e.getMessage());
+        }
+    }
+}
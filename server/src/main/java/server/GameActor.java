@@ -0,0 +1,68 @@
+package server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A GameActor owns one Game on the Server. Everything that changes the game is told to the actor as a message; the
+ * messages are run one at a time, in the order they were told, on a shared Executor. Different games therefore run
+ * in parallel while every single game only ever has one writer.
+ * @author Mark Banierink
+ */
+public class GameActor implements Runnable {
+
+    private static final int MAX_BATCH = 64;
+
+    private Server server;
+    private Executor executor;
+    private Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Constructor of the GameActor
+     * @param server Server object
+     * @param executor the Executor that runs the messages
+     */
+    public GameActor(Server server, Executor executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a message to the mailbox and makes sure the actor gets to run it
+     * @param message the Runnable to run on behalf of the game
+     */
+    protected void tell(Runnable message) {
+        mailbox.add(message);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * Runs a batch of messages. The actor then gives up its thread, so one busy game cannot starve the others
+     */
+    public void run() {
+        Runnable message;
+        int count = 0;
+        while (count < MAX_BATCH && (message = mailbox.poll()) != null) {
+            try {
+                message.run();
+            }
+            catch (RuntimeException e) {
+                server.getLogger().error(e.toString());
+            }
+            count++;
+        }
+        scheduled.set(false);
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+}
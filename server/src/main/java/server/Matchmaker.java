@@ -0,0 +1,234 @@
+package server;
+
+import game.Player;
+import helper.Histogram;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Matchmaker collects the players that asked for a game in one queue per board size and number of players. A
+ * GO only adds a ticket to its queue; a scheduler thread takes complete groups of tickets from every queue on each
+ * tick and hands them to the Server, which starts the game. The depth of the queues and the time players waited
+ * are kept as statistics, the waiting times also in a Histogram.
+ * @author Mark Banierink
+ */
+public class Matchmaker {
+
+    private static final long TICK_MILLIS = 20;
+    private static final int ANY_BOARD_SIZE = 0;
+    private static final int WAITING = 0;
+    private static final int MATCHED = 1;
+    private static final int CANCELLED = 2;
+
+    private Server server;
+    private boolean matchBoardSize;
+    private Map<Integer, Bucket> buckets = new ConcurrentHashMap<>();
+    private Map<Player, Ticket> tickets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private LongAdder matchedPlayers = new LongAdder();
+    private LongAdder totalWaitNanos = new LongAdder();
+    private AtomicLong maxWaitNanos = new AtomicLong();
+    private Histogram waitMicros = new Histogram();
+
+    /**
+     * Constructor of the Matchmaker
+     * @param server Server object that starts the matched games
+     * @param matchBoardSize true if players are only matched with players that asked for the same board size
+     */
+    public Matchmaker(Server server, boolean matchBoardSize) {
+        this.server = server;
+        this.matchBoardSize = matchBoardSize;
+    }
+
+    protected void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "Matchmaker"));
+        scheduler.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    protected void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Puts a player in the queue for a game
+     * @param player the Player that wants to play
+     * @param boardSize the requested board size
+     * @param playersPerGame the requested number of players in the game
+     * @return true if the player was queued, false if the player was already waiting
+     */
+    protected boolean enqueue(Player player, int boardSize, int playersPerGame) {
+        Bucket bucket = buckets.computeIfAbsent(bucketKey(boardSize, playersPerGame),
+                key -> new Bucket(playersPerGame));
+        Ticket ticket = new Ticket(player, boardSize, bucket);
+        if (tickets.putIfAbsent(player, ticket) != null) {
+            return false;
+        }
+        bucket.queue.add(ticket);
+        bucket.depth.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Takes a player out of the queue
+     * @param player the Player that no longer wants to play
+     * @return true if the player was waiting, false if it was not queued or has just been matched
+     */
+    protected boolean cancel(Player player) {
+        Ticket ticket = tickets.remove(player);
+        if (ticket != null && ticket.state.compareAndSet(WAITING, CANCELLED)) {
+            ticket.bucket.depth.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isWaiting(Player player) {
+        return tickets.containsKey(player);
+    }
+
+    /**
+     * Returns the number of players waiting for a game
+     * @return integer with the total depth of all queues
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Bucket bucket : buckets.values()) {
+            depth += bucket.depth.get();
+        }
+        return depth;
+    }
+
+    /**
+     * Returns the number of players waiting for a specific kind of game
+     * @param boardSize the board size, ignored if board sizes are not matched
+     * @param playersPerGame the number of players per game
+     * @return integer with the depth of that queue
+     */
+    public int getQueueDepth(int boardSize, int playersPerGame) {
+        Bucket bucket = buckets.get(bucketKey(boardSize, playersPerGame));
+        return bucket == null ? 0 : bucket.depth.get();
+    }
+
+    public long getMatchedPlayers() {
+        return matchedPlayers.sum();
+    }
+
+    public long getAverageWaitMillis() {
+        long matched = matchedPlayers.sum();
+        return matched == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / matched);
+    }
+
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    public Histogram getWaitHistogram() {
+        return waitMicros;
+    }
+
+    private int bucketKey(int boardSize, int playersPerGame) {
+        return (matchBoardSize ? boardSize : ANY_BOARD_SIZE) * 16 + playersPerGame;
+    }
+
+    /**
+     * Matches as many complete groups as possible in every queue. Runs on the scheduler thread only
+     */
+    protected void tick() {
+        try {
+            for (Bucket bucket : buckets.values()) {
+                List<Ticket> group;
+                while ((group = bucket.takeGroup()) != null) {
+                    startMatch(group);
+                }
+            }
+        }
+        catch (RuntimeException e) {
+            server.getLogger().error(e.toString());
+        }
+    }
+
+    private void startMatch(List<Ticket> group) {
+        long now = System.nanoTime();
+        List<Player> players = new ArrayList<>();
+        for (Ticket ticket : group) {
+            tickets.remove(ticket.player, ticket);
+            long wait = now - ticket.queuedNanos;
+            totalWaitNanos.add(wait);
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+            waitMicros.record(TimeUnit.NANOSECONDS.toMicros(wait));
+            players.add(ticket.player);
+        }
+        matchedPlayers.add(group.size());
+        server.startMatch(group.get(0).boardSize, players);                    // The oldest ticket chooses the board
+    }
+
+    private static class Ticket {
+
+        private final Player player;
+        private final int boardSize;
+        private final long queuedNanos = System.nanoTime();
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final Bucket bucket;
+
+        private Ticket(Player player, int boardSize, Bucket bucket) {
+            this.player = player;
+            this.boardSize = boardSize;
+            this.bucket = bucket;
+        }
+    }
+
+    private class Bucket {
+
+        private final int playersPerGame;
+        private final Deque<Ticket> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger depth = new AtomicInteger();
+
+        private Bucket(int playersPerGame) {
+            this.playersPerGame = playersPerGame;
+        }
+
+        /**
+         * Claims the oldest waiting tickets if there are enough of them for a game. Cancelled tickets are dropped on
+         * the way; if a cancellation leaves the group short, the claimed tickets go back to the front of the queue
+         */
+        private List<Ticket> takeGroup() {
+            if (depth.get() < playersPerGame) {
+                return null;
+            }
+            List<Ticket> group = new ArrayList<>(playersPerGame);
+            Ticket ticket;
+            while (group.size() < playersPerGame && (ticket = queue.poll()) != null) {
+                if (ticket.state.compareAndSet(WAITING, MATCHED)) {
+                    group.add(ticket);
+                }
+            }
+            if (group.size() < playersPerGame) {
+                for (int i = group.size() - 1; i >= 0; i--) {
+                    Ticket claimed = group.get(i);
+                    if (tickets.get(claimed.player) == claimed) {
+                        claimed.state.set(WAITING);
+                        queue.addFirst(claimed);
+                    }
+                    else {
+                        depth.decrementAndGet();                                // Cancelled while it was claimed
+                    }
+                }
+                return null;
+            }
+            depth.addAndGet(-playersPerGame);
+            return group;
+        }
+    }
+}
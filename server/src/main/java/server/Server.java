@@ -0,0 +1,920 @@
+package server;
+
+import game.*;
+import helper.*;
+
+import helper.commands.*;
+import helper.enums.Stone;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import server.journal.GameJournal;
+import server.journal.JournaledGame;
+
+import static helper.CommandToolbox.*;
+import static helper.ConsoleToolbox.*;
+import static helper.enums.Keyword.*;
+import static helper.enums.LogLevel.DEBUG;
+import static helper.enums.Resources.*;
+
+/**
+ * This class handles the server-side of the game
+ * No arguments are required.
+ * @author Mark Banierink
+ */
+public class Server implements ServerClientInterface {
+
+    private static final int DEFAULT_MAX_CLIENTS = 10;
+    private static final int MAX_CLIENTS_MIN = 2;
+    private static final int MAX_CLIENTS_MAX = 50000;
+    private static final int NUM_EVENT_LOOPS = Runtime.getRuntime().availableProcessors();
+    private static final int NUM_GAME_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int ACCEPT_BACKLOG = 1024;
+    private static final long SHUTDOWN_TIMEOUT = 5;
+    private static final String JOURNAL_PROPERTY = "go.journal.dir";
+    private static final String DEFAULT_JOURNAL_DIRECTORY = "";                // No journal unless it is asked for
+    private static final int NUM_JOURNAL_SHARDS = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final long RESUME_TIMEOUT_MINUTES = 2;
+
+    private Map<ClientHandler, Date> clientHandlers = new ConcurrentHashMap<>();
+    private ExecutorService clientHandlerExecutor;
+    private ExecutorService eventLoopExecutor;
+    private EventLoop[] eventLoops;
+    private int nextEventLoop;
+    private Map<Player, ClientHandler> playersList = new ConcurrentHashMap<>();
+    private Map<ClientHandler, Player> clientHandlerPlayers = new ConcurrentHashMap<>();
+    private Map<String, Player> playerNames = new ConcurrentHashMap<>();
+    private Map<Player, Game> playerGames = new ConcurrentHashMap<>();
+    private Map<Game, Integer> gameNumbers = new ConcurrentHashMap<>();
+    private AtomicInteger gameCounter = new AtomicInteger();
+    private Map<Game, GameActor> gameActors = new ConcurrentHashMap<>();
+    private ExecutorService gameExecutor = new ForkJoinPool(NUM_GAME_THREADS,
+            ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    private volatile boolean stop = false;
+    private ConsoleReader consoleReader;
+    private Matchmaker matchmaker;
+    private boolean matchBoardSize;
+    private boolean nonBlocking;
+    private boolean virtualThreads;
+    private int maxClients = -1;
+    private int playersPerGame = -1;
+    private int movesPerTurn = -1;
+    private Logger logger = new Logger(LOGGER.toString());
+    private CommandDispatcher<ClientHandler> dispatcher = createDispatcher();
+    private ServerMetrics metrics = new ServerMetrics();
+    private GameJournal journal;
+    private Map<String, Player> recoveredPlayers = new ConcurrentHashMap<>();
+    private Map<Game, List<String>> resumingGames = new ConcurrentHashMap<>();
+    private Set<Player> resyncingPlayers = ConcurrentHashMap.newKeySet();
+
+    public static void main(String[] args) {
+        new Server();
+    }
+
+    /**
+     * Constructor of Server. No input arguments are required.
+     */
+    public Server() {
+        setConsoleReader(new ConsoleReader(this));
+        logger.info(SERVER_START.toString());
+        ServerSocketChannel serverChannel = createServerChannel();
+        logger.info(SERVERSOCKET_MADE.toString());
+        setMaxClients();
+        setMatchBoardSize();
+        setPlayersPerGame();
+        setMovesPerTurn();
+        setNonBlocking();
+        if (!nonBlocking) {
+            setVirtualThreads();
+        }
+        openJournal();
+        start();
+        metrics.export(logger);
+        serve(serverChannel);
+    }
+
+    /**
+     * Constructor of Server with the settings given instead of asked. It has no journal and does not export its
+     * metrics; the connections are accepted by serve. Used by the tests
+     * @param maxClients the maximum number of players
+     * @param playersPerGame the default number of players per game
+     * @param nonBlocking true to serve the connections with event loops
+     */
+    Server(int maxClients, int playersPerGame, boolean nonBlocking) {
+        this.maxClients = maxClients;
+        this.playersPerGame = playersPerGame;
+        this.movesPerTurn = DEFAULT_MOVES_PER_TURN;
+        this.nonBlocking = nonBlocking;
+        start();
+    }
+
+    private void start() {
+        matchmaker = new Matchmaker(this, matchBoardSize);
+        matchmaker.start();
+        metrics.watch(clientHandlers::size, playersList::size, matchmaker, dispatcher);
+        if (nonBlocking) {
+            startEventLoops();
+        }
+        else {
+            clientHandlerExecutor = createClientHandlerExecutor();
+        }
+    }
+
+    /**
+     * Accepts connections until the server is stopped, then shuts it down
+     * @param serverChannel the bound ServerSocketChannel to accept from
+     */
+    void serve(ServerSocketChannel serverChannel) {
+        while (!stop) {
+            awaitClientHandlerAvailable();
+            logger.debug(SOCKET_AVAILABLE.toString());
+            SocketChannel channel = createChannel(serverChannel);
+            if (channel != null) {
+                startClientHandler(channel);
+            }
+        }
+        shutDown(serverChannel, SERVER_SHUTDOWN.toString());
+    }
+
+    private void startClientHandler(SocketChannel channel) {
+        if (nonBlocking) {
+            try {
+                channel.configureBlocking(false);
+            }
+            catch (IOException e) {
+                logger.warning(e.getMessage());
+                return;
+            }
+            EventLoop eventLoop = eventLoops[nextEventLoop++ % eventLoops.length];
+            ChannelClientHandler clientHandler = new ChannelClientHandler(this, channel, eventLoop);
+            listClientHandler(clientHandler);
+            eventLoop.register(clientHandler);
+        }
+        else {
+            SocketClientHandler clientHandler = new SocketClientHandler(this, channel.socket());
+            listClientHandler(clientHandler);
+            clientHandlerExecutor.execute(clientHandler);
+        }
+    }
+
+    private void startEventLoops() {
+        eventLoops = new EventLoop[NUM_EVENT_LOOPS];
+        eventLoopExecutor = Executors.newFixedThreadPool(NUM_EVENT_LOOPS, createThreadFactory(EVENTLOOP.toString()));
+        for (int i = 0; i < eventLoops.length; i++) {
+            try {
+                eventLoops[i] = new EventLoop(this);
+            }
+            catch (IOException e) {
+                logger.warning(e.getMessage());
+                System.exit(1);
+            }
+            eventLoopExecutor.execute(eventLoops[i]);
+        }
+    }
+
+    /**
+     * Creates the executor that runs every SocketClientHandler as its own task. Virtual threads are looked up by
+     * reflection, so the server still runs on a Java version without them
+     * @return an ExecutorService with a new (virtual) thread per task
+     */
+    private ExecutorService createClientHandlerExecutor() {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch (ReflectiveOperationException e) {
+                logger.warning(VIRTUAL_THREADS_UNAVAILABLE.toString());
+            }
+        }
+        return Executors.newCachedThreadPool(createThreadFactory(CLIENTHANDLER.toString()));
+    }
+
+    private ThreadFactory createThreadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> new Thread(runnable, name + SPACE + threadNumber.incrementAndGet());
+    }
+
+    private void setConsoleReader(ConsoleReader consoleReader) {
+        this.consoleReader = consoleReader;
+    }
+
+    private int getPortNumber() {
+        return requestIntegerInput(consoleReader, PORT_NUMBER.toString(), DEFAULT_PORT, PORT_MIN, PORT_MAX);
+    }
+
+    private void setMatchBoardSize() {
+        matchBoardSize = requestBooleanInput(consoleReader, MATCH_BOARDSIZE.toString(), N.toString());
+    }
+
+    private void setMaxClients() {
+        maxClients = requestIntegerInput(consoleReader, MAXIMUM_CLIENTS.toString(), DEFAULT_MAX_CLIENTS, MAX_CLIENTS_MIN, MAX_CLIENTS_MAX);
+    }
+
+    private void setPlayersPerGame() {
+        playersPerGame = requestIntegerInput(consoleReader, PLAYERS_PER_GAME.toString(), DEFAULT_PLAYERS_PER_GAME, PLAYERS_PER_GAME_MIN, maxPlayersPerGame());
+    }
+
+    private void setNonBlocking() {
+        nonBlocking = requestBooleanInput(consoleReader, NON_BLOCKING.toString(), Y.toString());
+    }
+
+    private void setVirtualThreads() {
+        virtualThreads = requestBooleanInput(consoleReader, VIRTUAL_THREADS.toString(), Y.toString());
+    }
+
+    private void setMovesPerTurn() {
+        movesPerTurn = requestIntegerInput(consoleReader, MOVES_PER_TURN.toString(), DEFAULT_MOVES_PER_TURN, MOVES_PER_TURN_MIN, MOVES_PER_TURN_MAX);
+    }
+
+    private int maxPlayersPerGame() {
+        return Stone.values().length - 1;
+    }
+
+    private ServerSocketChannel createServerChannel() {
+        int port = getPortNumber();
+        while (true) {
+            try {
+                logger.info(LOCAL_IP.toString() + COLON + InetAddress.getLocalHost().getHostAddress());
+                return ServerSocketChannel.open().bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+            }
+            catch (IOException e) {
+                logger.error(SERVER_SOCKET_NOT_POSSIBLE.toString());
+                logger.error(e.getMessage());
+            }
+        }
+    }
+
+    private SocketChannel createChannel(ServerSocketChannel serverChannel) {
+        SocketChannel channel = null;
+        try {
+            channel = serverChannel.accept();
+        }
+        catch (IOException e) {
+            if (!stop) {                                                        // Closed by stopping, no warning then
+                logger.warning(e.getMessage());
+            }
+        }
+        return channel;
+    }
+
+    private boolean isClientHandlerAvailable() {
+        return numberOfPlayers() < maxClients;
+    }
+
+    /**
+     * Blocks the accepting thread while the maximum number of clients is reached. Removing a player or client
+     * handler wakes it up again
+     */
+    private synchronized void awaitClientHandlerAvailable() {
+        while (!isClientHandlerAvailable()) {
+            try {
+                wait();
+            }
+            catch (InterruptedException e) {
+                logger.warning(e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private ClientHandler getClientHandler(Player player) {
+        return playersList.get(player);
+    }
+
+    private Player getPlayer(ClientHandler clientHandler) {
+        return clientHandlerPlayers.get(clientHandler);
+    }
+
+    private boolean hasPlayer(ClientHandler clientHandler) {
+        return getPlayer(clientHandler) != null;
+    }
+
+    private boolean hasClientHandler(Player player) {
+        return getClientHandler(player) != null;
+    }
+
+    private synchronized void listClientHandler(ClientHandler clientHandler) {
+        Date date = new Date();
+        clientHandlers.put(clientHandler, date);
+        metrics.connectionOpened();
+        logger.debug(CLIENTHANDLER_LISTED.toString() + COLON + date.toString());
+    }
+
+    protected void removeClientHandler(ClientHandler clientHandler) {
+        if (hasPlayer(clientHandler)) {
+            removePlayer(getPlayer(clientHandler));
+        }
+        clientHandler.close();                                                  // Outside the lock, it may still write
+        removeListedClientHandler(clientHandler);
+    }
+
+    private synchronized void removeListedClientHandler(ClientHandler clientHandler) {
+        clientHandlers.remove(clientHandler);
+        logger.debug(CLIENTHANDLER_REMOVED.toString());
+        notifyAll();
+    }
+
+    private synchronized void listPlayer(Player player, ClientHandler clientHandler) {
+        playersList.put(player, clientHandler);
+        clientHandlerPlayers.put(clientHandler, player);
+        playerNames.put(player.getName(), player);
+        logger.debug(LISTED.toString() + COLON + player.getName());
+    }
+
+    private synchronized void removeListedPlayer(Player player) {
+        ClientHandler clientHandler = playersList.remove(player);
+        if (clientHandler != null) {
+            clientHandlerPlayers.remove(clientHandler);
+        }
+        playerNames.remove(player.getName(), player);
+        resyncingPlayers.remove(player);
+        logger.debug(REMOVED.toString() + COLON + player.getName());
+        notifyAll();
+    }
+
+    /**
+     * Starts a game for a group of players matched by the Matchmaker. A player that left while it was being matched
+     * is removed from the game again, which ends it for the others
+     * @param boardSize the board size of the game
+     * @param players the Players of the game
+     */
+    protected void startMatch(int boardSize, List<Player> players) {
+        Game game = createGame(boardSize, players.size());
+        for (Player player : players) {
+            if (hasClientHandler(player)) {
+                getClientHandler(player).setBoardSize(boardSize);              // Before READY, for the binary protocol
+            }
+            game.addPlayer(player);
+            playerGames.put(player, game);
+            if (journal != null) {
+                journal.join(getGameNumber(game), player.getStone(), player.getName());
+            }
+            logger.debug(PLAYER_ADD_GAME.toString() + COLON + getGameNumber(game));
+        }
+        tellGame(game, () -> startGame(game));
+        for (Player player : players) {
+            if (!playersList.containsKey(player)) {
+                tellGame(game, () -> {
+                    if (isListedGame(game)) {
+                        removeGamePlayer(game, player);
+                    }
+                });
+            }
+        }
+    }
+
+    private void removePlayer(Player player) {
+        matchmaker.cancel(player);
+        if (hasGame(player)) {
+            Game game = getGame(player);
+            tellGame(game, () -> {
+                if (isListedGame(game)) {
+                    removeGamePlayer(game, player);
+                }
+            });
+        }
+        removeListedPlayer(player);
+    }
+
+    private void removeGamePlayer(Game game, Player player) {
+        game.removePlayer(player);
+        playerGames.remove(player, game);
+        broadcastGame(game, game.opponentGone(), null);
+        removeGame(game);
+        logger.debug(PLAYER_REMOVED_GAME.toString() + COLON + getGameNumber(game));
+    }
+
+    private synchronized void removeListedGame(Game game) {
+        int number = getGameNumber(game);
+        logger.info(GAME_REMOVED.toString() + COLON + number);
+        resumingGames.remove(game);
+        for (Player player : game.getPlayers()) {
+            playerGames.remove(player, game);
+            recoveredPlayers.remove(player.getName(), player);
+            resyncingPlayers.remove(player);
+        }
+        gameNumbers.remove(game);
+        if (gameActors.remove(game) != null) {
+            metrics.gameRemoved(game.getBoard().getBoardSize());
+            if (journal != null) {
+                journal.end(number);
+            }
+        }
+    }
+
+    private synchronized void listGame(Game game) {
+        gameActors.put(game, new GameActor(this, gameExecutor));
+        gameNumbers.put(game, gameCounter.incrementAndGet());
+        metrics.gameListed(game.getBoard().getBoardSize());
+        logger.info(GAME_LISTED.toString() + COLON + getGameNumber(game));
+    }
+
+    private boolean isListedGame(Game game) {
+        return gameActors.containsKey(game);
+    }
+
+    /**
+     * Hands a message to the actor of a game, so it runs after the messages before it and never at the same time as
+     * another message for the same game. Messages for a game that is no longer listed are dropped
+     */
+    private void tellGame(Game game, Runnable message) {
+        GameActor gameActor = gameActors.get(game);
+        if (gameActor != null) {
+            gameActor.tell(message);
+        }
+    }
+
+    private Game createGame(int boardSize, int numberOfPlayers) {
+        Game game = new Game(boardSize, movesPerTurn, numberOfPlayers);
+        listGame(game);
+        if (journal != null) {
+            journal.create(getGameNumber(game), boardSize, movesPerTurn, numberOfPlayers);
+        }
+        return game;
+    }
+
+    /**
+     * Opens the journal of the games and lists the games that were going on when the server stopped, to wait for
+     * their players. The journal is off by default; it is switched on by naming its directory with -Dgo.journal.dir,
+     * for example -Dgo.journal.dir=journal to write it to ./journal
+     */
+    private void openJournal() {
+        String directory = System.getProperty(JOURNAL_PROPERTY, DEFAULT_JOURNAL_DIRECTORY);
+        if (directory.isEmpty()) {
+            return;
+        }
+        GameJournal gameJournal = new GameJournal(Path.of(directory), NUM_JOURNAL_SHARDS, logger);
+        try {
+            for (JournaledGame journaledGame : gameJournal.open()) {
+                listRecoveredGame(journaledGame);
+            }
+        }
+        catch (IOException e) {
+            logger.error(JOURNAL_NOT_POSSIBLE.toString() + COLON + e.getMessage());
+            return;
+        }
+        journal = gameJournal;
+        metrics.watchJournal(journal);
+    }
+
+    /**
+     * Lists a game that was rebuilt from the journal. Its players get it back when they return with the same name;
+     * if they are not all back in time, it ends as if they left
+     */
+    private synchronized void listRecoveredGame(JournaledGame journaledGame) {
+        Game game = journaledGame.getGame();
+        gameActors.put(game, new GameActor(this, gameExecutor));
+        gameNumbers.put(game, journaledGame.getNumber());
+        gameCounter.accumulateAndGet(journaledGame.getNumber(), Math::max);
+        resumingGames.put(game, journaledGame.getHistory());
+        for (Player player : game.getPlayers()) {
+            recoveredPlayers.put(player.getName(), player);
+            playerGames.put(player, game);
+        }
+        metrics.gameRecovered(journaledGame.getBoardSize());
+        logger.info(GAME_RECOVERED.toString() + COLON + journaledGame.getNumber());
+        CompletableFuture.delayedExecutor(RESUME_TIMEOUT_MINUTES, TimeUnit.MINUTES, gameExecutor).execute(() ->
+                tellGame(game, () -> {
+                    if (resumingGames.containsKey(game)) {
+                        broadcastGame(game, game.opponentGone(), null);
+                        removeGame(game);
+                    }
+                }));
+    }
+
+    /**
+     * Puts a returning player back in its recovered game, which resumes as soon as every player is back
+     */
+    private void rejoinGame(Player player) {
+        Game game = getGame(player);
+        if (game == null) {
+            return;
+        }
+        logger.debug(PLAYER_ADD_GAME.toString() + COLON + getGameNumber(game));
+        tellGame(game, () -> {
+            if (resumingGames.containsKey(game) && playersList.keySet().containsAll(game.getPlayers())) {
+                resumeGame(game);
+            }
+        });
+    }
+
+    /**
+     * Starts a recovered game again: every player gets READY and the moves so far. Runs on the GameActor of the game
+     */
+    private void resumeGame(Game game) {
+        List<String> history = resumingGames.remove(game);
+        for (Player player : game.getPlayers()) {
+            if (hasClientHandler(player)) {
+                getClientHandler(player).setBoardSize(game.getBoard().getBoardSize());
+                resyncingPlayers.add(player);
+                broadcastPlayer(player, readyMessage(game, player));
+            }
+        }
+        for (String line : history) {
+            broadcastGame(game, line, null);
+        }
+        logger.info(GAME_RESUMED.toString() + COLON + getGameNumber(game));
+    }
+
+    private void removeGame(Game game) {
+        broadcastGame(game, GAME_REMOVED.toString(), null);
+        removeListedGame(game);
+    }
+
+    private void startGame(Game game) {
+        for (Player player : game.getPlayers()) {
+            broadcastPlayer(player, readyMessage(game, player));
+        }
+        logger.info(GAME_STARTED.toString() + COLON + getGameNumber(game));
+    }
+
+    private int getGameNumber(Game game) {
+        return gameNumbers.getOrDefault(game, 0);
+    }
+
+    private boolean isFullGame(Game game) {
+        return game.getPlayers().size() == game.getPlayersPerGame();
+    }
+
+    private int numberOfPlayers() {
+        return playersList.size();
+    }
+
+    private void broadcastClient(ClientHandler clientHandler, String message) {
+        handleClientOutput(clientHandler, message);
+    }
+
+    private void broadcastPlayer(Player player, String message) {
+        handleClientOutput(getClientHandler(player), message);
+    }
+
+    private void broadcastGame(Game game, String message, Player excludedPlayer) {
+        ServerMessage line = encodeBroadcast(message);
+        for (Player player : game.getPlayers()) {
+            if (!player.equals(excludedPlayer)) {
+                if (hasClientHandler(player)) {
+                    getClientHandler(player).handleClientOutput(line);
+                }
+            }
+        }
+    }
+
+    private void broadcastPlayers(String message, Player excludedPlayer) {
+        ServerMessage line = encodeBroadcast(message);
+        for (Player player : playersList.keySet()) {
+            if (!player.equals(excludedPlayer)) {
+                getClientHandler(player).handleClientOutput(line);
+            }
+        }
+    }
+
+    private void broadcastClients(String string, ClientHandler excludedClientHandler) {
+        ServerMessage line = encodeBroadcast(string);
+        for (ClientHandler clientHandler : clientHandlers.keySet()) {
+            if (!clientHandler.equals(excludedClientHandler)) {
+                clientHandler.handleClientOutput(line);
+            }
+        }
+    }
+
+    /**
+     * Logs a broadcast once and wraps it, so it is encoded once per protocol for all its recipients
+     * @param string the line to broadcast
+     * @return ServerMessage that every recipient writes its own duplicate of
+     */
+    private ServerMessage encodeBroadcast(String string) {
+        logger.debug(string);
+        return new ServerMessage(string);
+    }
+
+    private String readyMessage(Game game, Player player) {
+         return createCommandReady(game, player);
+    }
+
+    private Player createPlayer(ClientHandler clientHandler, String name) {
+        Player player = new Player(name);
+        listPlayer(player, clientHandler);
+        logger.debug(NEW_PLAYER.toString() + SPACE + name);
+        return player;
+    }
+
+    protected void handleClientInput(ClientHandler clientHandler, String string) {
+        handleClientInput(clientHandler, clientHandler.getParser().decode(string));
+    }
+
+    /**
+     * Handles a command of a client, decoded from a line or from a binary frame
+     * @param clientHandler the ClientHandler of the client
+     * @param command the decoded Command
+     */
+    protected void handleClientInput(ClientHandler clientHandler, Command command) {
+        if (logger.isEnabled(DEBUG)) {
+            String name = NEW_CLIENT.toString();
+            if (hasPlayer(clientHandler)) {
+                name = getPlayer(clientHandler).getName();
+            }
+            logger.debug(name + ": " + command.getLine());
+        }
+        dispatcher.dispatch(clientHandler, command);
+    }
+
+    /**
+     * Creates the dispatcher of the commands of clients. What is not handled in the lobby is meant for the game of
+     * the player
+     * @return CommandDispatcher with the handlers registered
+     */
+    private CommandDispatcher<ClientHandler> createDispatcher() {
+        CommandDispatcher<ClientHandler> commandDispatcher = new CommandDispatcher<>(this::commandGame);
+        commandDispatcher.register(PLAYER, PlayerCommand.class, this::commandPlayer);
+        commandDispatcher.register(GO, GoCommand.class, this::commandGo);
+        commandDispatcher.register(CANCEL, SimpleCommand.class, this::commandCancel);
+        commandDispatcher.register(CHAT, TextCommand.class, this::commandChat);
+        return commandDispatcher;
+    }
+
+    private void commandGame(ClientHandler clientHandler, Command command) {
+        Player player = getPlayer(clientHandler);
+        if (hasGame(player)) {
+            Game game = getGame(player);
+            tellGame(game, () -> handleGameInput(clientHandler, game, player, command));
+        }
+        else {
+            noCommand(clientHandler, command.getLine());
+        }
+    }
+
+    /**
+     * Handles the input of a player in a game. Runs on the GameActor of the game
+     */
+    private void handleGameInput(ClientHandler clientHandler, Game game, Player player, Command command) {
+        if (!command.isValid() || !isListedGame(game) || !game.getPlayers().contains(player)
+                || (resumingGames.containsKey(game) && command.getKeyword() != CANCEL)) {
+            noCommand(clientHandler, command.getLine());
+            return;
+        }
+        switch (command.getKeyword()) {
+            case CANCEL:
+                if (!isFullGame(game) || resumingGames.containsKey(game)) {
+                    commandCancel(game, player);
+                }
+                else {
+                    noCommand(clientHandler, command.getLine());
+                }
+                break;
+            case MOVE:
+                commandMove(game, player, (MoveCommand)command);
+                break;
+            case PASS:
+                commandPass(game, player);
+                break;
+            case TABLEFLIP:
+                commandTableFlip(game, player);
+                break;
+            case CHAT:
+                commandChat(player, ((TextCommand)command).getText());           // The client may be gone by now
+                break;
+            default:
+                noCommand(clientHandler, command.getLine());
+        }
+    }
+
+    private boolean playerNameExists(String name) {
+        return playerNames.containsKey(name);
+    }
+
+    private void commandPlayer(ClientHandler clientHandler, PlayerCommand command) {
+        if (hasPlayer(clientHandler)) {
+            commandGame(clientHandler, command);
+        }
+        else if (command.getText().length() > NAME_LENGTH_MAX) {
+            broadcastClient(clientHandler, createCommandWarning(NAME_TOO_LONG.toString()));
+        }
+        else if (playerNameExists(command.getText())) {
+            broadcastClient(clientHandler, createCommandWarning(NAME_TAKEN.toString()));
+        }
+        else {
+            Player recovered = recoveredPlayers.remove(command.getText());
+            if (recovered != null) {
+                listPlayer(recovered, clientHandler);
+            }
+            else {
+                createPlayer(clientHandler, command.getText());
+            }
+            if (command.isBinary()) {
+                logger.debug(BINARY.toString());
+                clientHandler.setBinary(createCommandBinary());
+            }
+            if (recovered != null) {
+                rejoinGame(recovered);
+            }
+        }
+    }
+
+    private void commandGo(ClientHandler clientHandler, GoCommand command) {
+        Player player = getPlayer(clientHandler);
+        if (player != null && !hasGame(player) && !matchmaker.isWaiting(player)) {
+            int numberOfPlayers = command.hasPlayersPerGame() ? command.getPlayersPerGame() : playersPerGame;
+            if (matchmaker.enqueue(player, command.getBoardSize(), numberOfPlayers)) {
+                broadcastPlayer(player, WAITING.toString());
+            }
+        }
+        else {
+            commandGame(clientHandler, command);
+        }
+    }
+
+    private void commandCancel(ClientHandler clientHandler, SimpleCommand command) {
+        Player player = getPlayer(clientHandler);
+        if (player != null && matchmaker.isWaiting(player)) {
+            matchmaker.cancel(player);
+        }
+        else {
+            commandGame(clientHandler, command);
+        }
+    }
+
+    private void commandCancel(Game game, Player player) {
+        removeGamePlayer(game, player);
+    }
+
+    private boolean hasGame(Player player) {
+        return getGame(player) != null;
+    }
+
+    private Game getGame(Player player) {
+        return player == null ? null : playerGames.get(player);
+    }
+
+    private void commandMove(Game game, Player player, MoveCommand command) {
+        int x = command.getX();
+        int y = command.getY();
+        long start = System.nanoTime();
+        String response = game.checkMoveValidity(player.getStone(), x, y);
+        metrics.checkedMoveValidity(System.nanoTime() - start);
+        if (VALID.toString().equals(response)) {
+            if (journal != null) {
+                journal.move(getGameNumber(game), player.getStone(), x, y);
+            }
+            game.move(player.getStone(), x, y);
+            metrics.moved();
+            resyncingPlayers.remove(player);
+            broadcastGame(game, createCommandValid(player.getStone(), x, y), null);
+        }
+        else if (resyncingPlayers.contains(player)) {
+            noCommand(getClientHandler(player), command.getLine());             // May answer a position of the history
+        }
+        else {
+            metrics.invalidMove();
+            kickClient(getClientHandler(player), createCommandInvalid(player.getStone(), response));
+        }
+    }
+
+    private void commandPass(Game game, Player player) {
+        if (game.isValidPass(player.getStone())) {
+            if (journal != null) {
+                journal.pass(getGameNumber(game), player.getStone());
+            }
+            String response = game.pass();
+            metrics.moved();
+            resyncingPlayers.remove(player);
+            broadcastGame(game, createCommandPassed(player.getStone()), null);
+            if (isEndCommand(response)) {
+                broadcastGame(game, response, null);
+                removeGame(game);
+            }
+        }
+        else if (resyncingPlayers.contains(player)) {
+            noCommand(getClientHandler(player), PASS.toString());
+        }
+        else {
+            metrics.invalidMove();
+            kickClient(getClientHandler(player), createCommandInvalid(player.getStone(), NOT_TURN.toString()));
+        }
+    }
+
+    private void commandTableFlip(Game game, Player player) {
+        if (game.isValidTableFlip(player.getStone())) {
+            broadcastGame(game, createCommandTableFlipped(player.getStone()), null);
+            broadcastGame(game, game.tableFlip(), null);
+            removeGame(game);
+        }
+    }
+
+    private void commandChat(ClientHandler clientHandler, TextCommand command) {
+        if (hasPlayer(clientHandler)) {
+            commandGame(clientHandler, command);
+        }
+        else {
+            commandChat(null, command.getText());
+        }
+    }
+
+    private void commandChat(Player player, String message) {
+        String sender = player == null ? ANONYMOUS.toString() : player.getName();
+        if (hasGame(player)) {
+            Game game = getGame(player);
+            broadcastGame(game, createCommandChat(sender, message), player);
+        }
+        else {
+            broadcastPlayers(createCommandChat(sender, message), player);
+        }
+    }
+
+    private void noCommand(ClientHandler clientHandler, String string) {
+        handleClientOutput(clientHandler, createCommandWarning(string));
+    }
+
+    private void kickClient(ClientHandler clientHandler, String reason) {
+        metrics.kicked();
+        handleClientOutput(clientHandler, reason);
+        handleClientOutput(clientHandler, CHAT.toString() + SPACE + SERVER + ":" + SPACE + KICKED);
+        String name = ANONYMOUS.toString();
+        if (hasPlayer(clientHandler)) {
+            name = getPlayer(clientHandler).getName();
+        }
+        broadcastClients(name + SPACE + IS_KICKED, clientHandler);
+        removeClientHandler(clientHandler);
+        clientHandler.shutDown();
+    }
+
+    private void handleClientOutput(ClientHandler clientHandler, String string) {
+        logger.debug(string);
+        clientHandler.handleClientOutput(string);
+    }
+
+    public Logger getLogger() {
+        return logger;
+    }
+
+    protected ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void handleConsoleInput(String line) {
+
+    }
+
+    /**
+     * Makes serve stop accepting. A serve that is waiting in accept returns once the ServerSocketChannel is closed
+     */
+    void stopServer() {
+        stop = true;
+    }
+
+    private void shutDown(ServerSocketChannel serverChannel, String broadcastMessage) {
+        broadcastClients(broadcastMessage, null);
+        for (ClientHandler clientHandler : clientHandlers.keySet()) {
+            clientHandler.setStop();
+        }
+        if (eventLoops != null) {
+            for (EventLoop eventLoop : eventLoops) {
+                eventLoop.setStop();
+            }
+            awaitTermination(eventLoopExecutor);
+        }
+        if (clientHandlerExecutor != null) {
+            for (ClientHandler clientHandler : clientHandlers.keySet()) {
+                clientHandler.close();                                          // Writes the broadcast, then closes
+            }
+            awaitTermination(clientHandlerExecutor);
+        }
+        matchmaker.stop();
+        awaitTermination(gameExecutor);
+        if (journal != null) {
+            journal.close();
+        }
+        metrics.close();
+        try {
+            serverChannel.close();
+        }
+        catch (IOException e) {
+            logger.warning(e.getMessage());
+        }
+        logger.close();
+    }
+
+    private void awaitTermination(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException e) {
+            logger.warning(e.getMessage());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package server;
+
+import helper.BinaryCodec;
+import helper.CommandParser;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A ServerMessage is a line that the Server sends to one or more clients. It is encoded at most once per protocol: as
+ * text for the clients that use the text protocol, and as binary frame for those that asked for the binary protocol.
+ * The encoded buffers are read-only and shared by all recipients, which each write their own duplicate. A message is
+ * encoded by the thread that sends it, so it is not shared between threads before it is encoded.
+ * @author Mark Banierink
+ */
+public class ServerMessage {
+
+    private static final ThreadLocal<CommandParser> PARSER = ThreadLocal.withInitial(CommandParser::new);
+
+    private final String line;
+    private ByteBuffer text;
+    private ByteBuffer binary;
+    private int binaryBoardSize;
+
+    /**
+     * Constructor of the ServerMessage
+     * @param line the line, without line separator
+     */
+    public ServerMessage(String line) {
+        this.line = line;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the line in the text protocol
+     * @return read-only ByteBuffer with the line and its line separator
+     */
+    public ByteBuffer getText() {
+        if (text == null) {
+            text = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer();
+        }
+        return text;
+    }
+
+    /**
+     * Returns the line in the binary protocol
+     * @param boardSize the board size of the game of the recipient, which numbers the fields of a move
+     * @return read-only ByteBuffer with the frame
+     */
+    public ByteBuffer getBinary(int boardSize) {
+        if (binary == null || binaryBoardSize != boardSize) {
+            binary = BinaryCodec.encode(PARSER.get().decode(line), boardSize).asReadOnlyBuffer();
+            binaryBoardSize = boardSize;
+        }
+        return binary;
+    }
+}
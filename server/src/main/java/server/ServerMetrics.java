@@ -0,0 +1,167 @@
+package server;
+
+import helper.Logger;
+import helper.commands.CommandDispatcher;
+import helper.enums.Keyword;
+import java.io.IOException;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import server.journal.GameJournal;
+import server.metrics.*;
+
+import static helper.enums.Keyword.*;
+import static helper.enums.Resources.*;
+import static server.metrics.MetricsRegistry.label;
+
+/**
+ * The ServerMetrics are the metrics the Server keeps about its connections, games, moves and matchmaking. They are
+ * counted lock-free on the threads that do the work and exported through JMX and in plain text on a local port, set
+ * with -Dgo.metrics.port (default 9727, 0 for none).
+ * @author Mark Banierink
+ */
+public class ServerMetrics {
+
+    public static final String PORT_PROPERTY = "go.metrics.port";
+    public static final int DEFAULT_PORT = 9727;
+    private static final Keyword[] CLIENT_KEYWORDS = {PLAYER, GO, CANCEL, MOVE, PASS, TABLEFLIP, CHAT};
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final Counter connections = registry.counter("go_connections_total", "Connections accepted");
+    private final Meter moves = registry.meter("go_moves_total", "Valid moves and passes");
+    private final Counter invalidMoves = registry.counter("go_moves_invalid_total",
+            "Moves and passes answered with INVALID");
+    private final Counter kicks = registry.counter("go_kicks_total", "Clients kicked");
+    private final Summary checkMoveValidity = registry.summary("go_check_move_validity_nanos",
+            "Time spent in checkMoveValidity");
+    private final Gauge outboundQueue = registry.gauge("go_outbound_queue_depth",
+            "Lines and frames queued for clients but not written yet");
+    private JmxExporter jmxExporter;
+    private HttpExporter httpExporter;
+
+    public ServerMetrics() {
+        registry.gauge("go_moves_per_second", "", "Valid moves and passes per second over the last ten seconds",
+                moves::getRate);
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Adds the metrics that are read from the state of the server when they are scraped
+     * @param activeConnections the number of open connections
+     * @param activePlayers the number of named players
+     * @param matchmaker the Matchmaker with the queues and their waiting times
+     * @param dispatcher the CommandDispatcher that counts the commands of the clients
+     */
+    protected void watch(LongSupplier activeConnections, LongSupplier activePlayers, Matchmaker matchmaker,
+                         CommandDispatcher<?> dispatcher) {
+        registry.gauge("go_connections_active", "", "Open client connections", activeConnections);
+        registry.gauge("go_players_active", "", "Clients that introduced themselves with PLAYER", activePlayers);
+        registry.gauge("go_matchmaking_queue_depth", "", "Players waiting for a game", matchmaker::getQueueDepth);
+        registry.summary("go_matchmaking_wait_micros", "Time players waited for a game", matchmaker.getWaitHistogram());
+        for (Keyword keyword : CLIENT_KEYWORDS) {
+            registry.counter("go_commands_total", label("keyword", keyword), "Commands of clients by keyword",
+                    () -> dispatcher.getCount(keyword));
+        }
+        registry.counter("go_commands_invalid_total", "", "Lines of clients that are not a command",
+                dispatcher::getInvalidCount);
+    }
+
+    /**
+     * Adds the metrics of the journal of the games
+     * @param journal the GameJournal
+     */
+    protected void watchJournal(GameJournal journal) {
+        registry.counter("go_journal_records_total", "", "Records written to the journal", journal::getRecords);
+        registry.counter("go_journal_commits_total", "", "Group commits of the journal", journal::getCommits);
+        registry.summary("go_journal_commit_micros", "Time of a group commit, fsync included",
+                journal.getCommitHistogram());
+    }
+
+    protected void connectionOpened() {
+        connections.increment();
+    }
+
+    protected void gameListed(int boardSize) {
+        registry.counter("go_games_started_total", label("board_size", boardSize), "Games started by board size")
+                .increment();
+        activeGames(boardSize).increment();
+    }
+
+    protected void gameRecovered(int boardSize) {
+        registry.counter("go_games_recovered_total", label("board_size", boardSize),
+                "Games recovered from the journal by board size").increment();
+        activeGames(boardSize).increment();
+    }
+
+    protected void gameRemoved(int boardSize) {
+        activeGames(boardSize).decrement();
+    }
+
+    private Gauge activeGames(int boardSize) {
+        return registry.gauge("go_games_active", label("board_size", boardSize), "Games in progress by board size");
+    }
+
+    protected void moved() {
+        moves.increment();
+    }
+
+    protected void invalidMove() {
+        invalidMoves.increment();
+    }
+
+    protected void kicked() {
+        kicks.increment();
+    }
+
+    protected void checkedMoveValidity(long nanos) {
+        checkMoveValidity.record(nanos);
+    }
+
+    /**
+     * Counts lines and frames that are queued for a client, or written or dropped when negative
+     */
+    protected void queued(long amount) {
+        outboundQueue.add(amount);
+    }
+
+    protected long getQueueDepth() {
+        return outboundQueue.get();
+    }
+
+    /**
+     * Registers the MBean and starts the plain text endpoint. Either one that is not possible is logged and left out
+     * @param logger the Logger of the server
+     */
+    protected void export(Logger logger) {
+        jmxExporter = new JmxExporter(registry);
+        try {
+            jmxExporter.register();
+        }
+        catch (JMException e) {
+            logger.warning(METRICS_NOT_POSSIBLE.toString() + COLON + e.getMessage());
+        }
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        if (port > 0) {
+            try {
+                httpExporter = new HttpExporter(registry, port);
+                httpExporter.start();
+                logger.info(METRICS_PORT.toString() + COLON + httpExporter.getPort());
+            }
+            catch (IOException e) {
+                httpExporter = null;
+                logger.warning(METRICS_NOT_POSSIBLE.toString() + COLON + e.getMessage());
+            }
+        }
+    }
+
+    protected void close() {
+        if (jmxExporter != null) {
+            jmxExporter.unregister();
+        }
+        if (httpExporter != null) {
+            httpExporter.stop();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package server;
+
+import helper.ProtocolReader;
+import helper.commands.Command;
+import java.io.*;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static helper.enums.Resources.*;
+
+/**
+ * The SocketClientHandler runs as a separate thread. It manages the blocking incoming and outgoing buffer stream from
+ * Server to Client. Outgoing lines are queued and written by the thread that sends them, after it let go of the output
+ * lock. Only one thread writes at a time: a thread that finds another one writing leaves its line to it, and the
+ * writer flushes once the queue runs empty, so lines that are sent while a write is going on leave together. No lock
+ * or monitor is held around a blocking write, so a virtual thread that blocks in one does not pin its carrier thread.
+ * @author Mark Banierink
+ */
+public class SocketClientHandler extends ClientHandler implements Runnable {
+
+    private static final int COPY_BUFFER_SIZE = 512;
+
+    private Socket socket;
+    private ProtocolReader clientInput;
+    private BufferedOutputStream clientOutput;
+    private byte[] copyBuffer = new byte[COPY_BUFFER_SIZE];                    // Only touched by the writing thread
+    private Queue<ByteBuffer> output = new ConcurrentLinkedQueue<>();
+    private AtomicBoolean writing = new AtomicBoolean();
+    private volatile boolean closing;
+    private volatile boolean closed;
+
+    /**
+     * Constructor of the SocketClientHandler
+     * @param server Server object
+     * @param socket Socket for the buffer stream communication
+     */
+    public SocketClientHandler(Server server, Socket socket) {
+        super(server);
+        this.socket = socket;
+        try {
+            this.clientInput = new ProtocolReader(this.socket.getInputStream());
+            this.clientOutput = new BufferedOutputStream(this.socket.getOutputStream());
+        }
+        catch (IOException e) {
+            logger.warning(e.getMessage());
+        }
+    }
+
+    @Override
+    protected void handleClientOutput(ServerMessage message) {
+        super.handleClientOutput(message);
+        writeOutput();                                                          // Outside the output lock
+    }
+
+    @Override
+    protected void setBinary(String acknowledgement) {
+        super.setBinary(acknowledgement);
+        writeOutput();
+    }
+
+    /**
+     * Queues a line, called while holding the output lock. A closed connection drops it without counting it
+     */
+    @Override
+    protected void write(ByteBuffer buffer) {
+        if (closed) {
+            return;
+        }
+        server.getMetrics().queued(1);
+        output.add(buffer.duplicate());
+    }
+
+    public Socket getSocket() {
+        return socket;
+    }
+
+    /**
+     * Run method that is started as soon as the SocketClientHandler is started in a separate thread. It reads the
+     * client input, as lines or as frames, and passes this through to the server
+     */
+    public void run() {
+        try {
+            while (!stop && readInput()) {
+                // Every input is passed on by readInput
+            }
+            if (!stop) {
+                logger.debug(CONNECTION_LOST.toString());
+                server.removeClientHandler(this);
+            }
+            shutDown();
+        }
+        catch (IOException e) {
+            logger.debug(CONNECTION_LOST.toString());
+            server.removeClientHandler(this);
+        }
+    }
+
+    /**
+     * Reads the next line or frame and passes it on
+     * @return false at the end of the stream
+     * @throws IOException if the stream can not be read or a frame is not valid
+     */
+    private boolean readInput() throws IOException {
+        if (binary) {
+            Command command = clientInput.readFrame(getBoardSize());
+            if (command == null) {
+                return false;
+            }
+            handleClientInput(command);
+        }
+        else {
+            String line = clientInput.readLine();
+            if (line == null) {
+                return false;
+            }
+            handleClientInput(line);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the queued lines if no other thread is writing them already. The queue is checked again after letting
+     * go, so a line that was queued just before that is not left behind. Once the connection is closed, what is
+     * queued is dropped instead; every thread that queued a line gets here afterwards, so a line that raced with the
+     * closing is dropped as well
+     */
+    private void writeOutput() {
+        while (!closed && (closing || !output.isEmpty()) && writing.compareAndSet(false, true)) {
+            try {
+                writeQueued();
+                if (closing && output.isEmpty()) {
+                    closeSocket();                                              // The lines before it are written first
+                }
+            }
+            finally {
+                writing.set(false);
+            }
+        }
+        if (closed) {
+            discardOutput();
+        }
+    }
+
+    private void writeQueued() {
+        int written = 0;
+        try {
+            ByteBuffer line;
+            while ((line = output.poll()) != null) {
+                written++;
+                writeLine(line);
+            }
+            clientOutput.flush();
+        }
+        catch (IOException e) {
+            logger.debug(e.getMessage());
+            closeSocket();
+        }
+        finally {
+            server.getMetrics().queued(-written);
+        }
+    }
+
+    private void writeLine(ByteBuffer line) throws IOException {
+        while (line.hasRemaining()) {                                           // A shared line is read-only
+            int length = Math.min(line.remaining(), copyBuffer.length);
+            line.get(copyBuffer, 0, length);
+            clientOutput.write(copyBuffer, 0, length);
+        }
+    }
+
+    /**
+     * Drops what can no longer be written, so it does not count as queued anymore
+     */
+    private void discardOutput() {
+        int dropped = 0;
+        while (output.poll() != null) {
+            dropped++;
+        }
+        server.getMetrics().queued(-dropped);
+    }
+
+    /**
+     * Closes the connection as soon as the lines that are queued so far have been written
+     */
+    @Override
+    protected void close() {
+        closing = true;
+        writeOutput();
+    }
+
+    private void closeSocket() {
+        closed = true;
+        try {
+            this.socket.close();                                                // Also closes both streams
+        }
+        catch (IOException e) {
+            logger.warning(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package server.journal;
+
+import helper.Histogram;
+import helper.Logger;
+import helper.enums.Stone;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static helper.enums.Resources.*;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * The GameJournal is an append-only log of the events of every game, so the games that were going on can be rebuilt
+ * when the server starts again. A game always goes to the same shard, one file of its own with its own committer
+ * thread, so the order of its events is kept. Appending never waits for the disk: every shard is written and forced
+ * in one group commit every few milliseconds, so a crash loses at most the events of the last commit interval.
+ * When the journal is opened, the games that did not end are read back and the shards are compacted to just those
+ * games.
+ * @author Mark Banierink
+ */
+public class GameJournal {
+
+    private static final String SHARD_PREFIX = "shard-";
+    private static final String SHARD_SUFFIX = ".journal";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final long COMMIT_INTERVAL_MILLIS = 5;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final Path directory;
+    private final int numberOfShards;
+    private final Logger logger;
+    private JournalShard[] shards;
+    private ScheduledExecutorService committers;
+    private final LongAdder records = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final Histogram commitMicros = new Histogram();
+
+    /**
+     * Constructor of the GameJournal
+     * @param directory the directory of the shard files, created if it does not exist
+     * @param numberOfShards the number of shards, which may differ from the last run
+     * @param logger the Logger of the server
+     */
+    public GameJournal(Path directory, int numberOfShards, Logger logger) {
+        this.directory = directory;
+        this.numberOfShards = numberOfShards;
+        this.logger = logger;
+    }
+
+    /**
+     * Reads the games that did not end, compacts the shards to them and starts the committers
+     * @return List of the JournaledGames that were rebuilt, by game number
+     * @throws IOException if the directory or a shard can not be read or written
+     */
+    public List<JournaledGame> open() throws IOException {
+        Files.createDirectories(directory);
+        Map<Integer, JournaledGame> games = new TreeMap<>();
+        List<Path> files = listShardFiles();
+        for (Path file : files) {
+            read(file, games);
+        }
+        List<JournaledGame> rebuilt = new ArrayList<>();
+        for (JournaledGame game : games.values()) {
+            if (game.rebuild()) {
+                rebuilt.add(game);
+            }
+            else {
+                logger.warning(JOURNAL_GAME_DROPPED.toString() + COLON + game.getNumber());
+            }
+        }
+        compact(rebuilt, files);
+        shards = new JournalShard[numberOfShards];
+        for (int i = 0; i < numberOfShards; i++) {
+            shards[i] = new JournalShard(shardFile(i));
+        }
+        startCommitters();
+        return rebuilt;
+    }
+
+    private List<Path> listShardFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SHARD_PREFIX + "*" + SHARD_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Reads the records of one shard into the games they belong to. The shard is cut off at the first record that is
+     * not intact, which can only be the last one that was being written. An intact record that can not be decoded is
+     * skipped, so it does not take the records after it along
+     */
+    private void read(Path file, Map<Integer, JournaledGame> games) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        JournalRecord record;
+        while ((record = JournalRecord.decode(buffer)) != null) {
+            if (record == JournalRecord.SKIPPED) {
+                logger.warning(JOURNAL_RECORD_SKIPPED.toString() + COLON + file.getFileName());
+            }
+            else if (record.getType() == JournalRecord.Type.CREATE) {
+                games.put(record.getGame(), new JournaledGame(record));
+            }
+            else if (record.getType() == JournalRecord.Type.END) {
+                games.remove(record.getGame());
+            }
+            else if (games.containsKey(record.getGame())) {
+                games.get(record.getGame()).add(record);
+            }
+        }
+        if (buffer.hasRemaining()) {
+            logger.warning(JOURNAL_CUT_OFF.toString() + COLON + file.getFileName());
+        }
+    }
+
+    /**
+     * Writes the records of the rebuilt games to new shard files, which replace the old ones only once they are
+     * complete on disk
+     */
+    private void compact(List<JournaledGame> games, List<Path> oldFiles) throws IOException {
+        List<List<ByteBuffer>> shardRecords = new ArrayList<>();
+        for (int i = 0; i < numberOfShards; i++) {
+            shardRecords.add(new ArrayList<>());
+        }
+        for (JournaledGame game : games) {
+            for (JournalRecord record : game.getRecords()) {
+                shardRecords.get(shardOf(game.getNumber())).add(record.encode());
+            }
+        }
+        for (int i = 0; i < numberOfShards; i++) {
+            Path compacted = directory.resolve(shardFile(i).getFileName() + COMPACT_SUFFIX);
+            try (FileChannel channel = FileChannel.open(compacted, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                for (ByteBuffer record : shardRecords.get(i)) {
+                    while (record.hasRemaining()) {
+                        channel.write(record);
+                    }
+                }
+                channel.force(true);
+            }
+            Files.move(compacted, shardFile(i), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        for (Path file : oldFiles) {
+            if (!isShardFile(file)) {
+                Files.deleteIfExists(file);                                     // There were more shards before
+            }
+        }
+    }
+
+    private boolean isShardFile(Path file) {
+        for (int i = 0; i < numberOfShards; i++) {
+            if (shardFile(i).getFileName().equals(file.getFileName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path shardFile(int shard) {
+        return directory.resolve(SHARD_PREFIX + shard + SHARD_SUFFIX);
+    }
+
+    private int shardOf(int game) {
+        return Math.floorMod(game, numberOfShards);
+    }
+
+    private void startCommitters() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        committers = Executors.newScheduledThreadPool(numberOfShards,
+                runnable -> new Thread(runnable, "Journal " + threadNumber.incrementAndGet()));
+        for (JournalShard shard : shards) {
+            committers.scheduleWithFixedDelay(() -> commit(shard), COMMIT_INTERVAL_MILLIS, COMMIT_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void commit(JournalShard shard) {
+        long start = System.nanoTime();
+        try {
+            int committed = shard.commit();
+            if (committed > 0) {
+                records.add(committed);
+                commits.increment();
+                commitMicros.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        }
+        catch (IOException e) {
+            logger.error(JOURNAL_NOT_WRITTEN.toString() + COLON + e.getMessage());
+        }
+    }
+
+    public void create(int game, int boardSize, int movesPerTurn, int playersPerGame) {
+        append(JournalRecord.create(game, boardSize, movesPerTurn, playersPerGame));
+    }
+
+    public void join(int game, Stone stone, String name) {
+        append(JournalRecord.join(game, stone, name));
+    }
+
+    public void move(int game, Stone stone, int x, int y) {
+        append(JournalRecord.move(game, stone, x, y));
+    }
+
+    public void pass(int game, Stone stone) {
+        append(JournalRecord.pass(game, stone));
+    }
+
+    public void end(int game) {
+        append(JournalRecord.end(game));
+    }
+
+    private void append(JournalRecord record) {
+        shards[shardOf(record.getGame())].append(record.encode());
+    }
+
+    public long getRecords() {
+        return records.sum();
+    }
+
+    public long getCommits() {
+        return commits.sum();
+    }
+
+    public Histogram getCommitHistogram() {
+        return commitMicros;
+    }
+
+    /**
+     * Stops the committers and commits what was appended last. Games that did not end stay in the journal, so they
+     * are recovered when the server starts again
+     */
+    public void close() {
+        committers.shutdown();
+        try {
+            committers.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            logger.warning(e.getMessage());
+        }
+        for (JournalShard shard : shards) {
+            try {
+                shard.close();
+            }
+            catch (IOException e) {
+                logger.error(JOURNAL_NOT_WRITTEN.toString() + COLON + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package server.journal;
+
+import helper.enums.Stone;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+import static helper.ServerClientInterface.NAME_LENGTH_MAX;
+
+/**
+ * A JournalRecord is one event of a game in the GameJournal: its creation, a player that joins, a move, a pass or its
+ * end. On disk a record is the length and a CRC32C of its body, followed by the body: the type, the game number and
+ * the fields of the type. A record that was only partly written when the server died does not match its checksum,
+ * so it is recognized and dropped. A record that matches its checksum but can not be decoded is skipped instead, so
+ * the records after it are still read.
+ * @author Mark Banierink
+ */
+public class JournalRecord {
+
+    /**
+     * The events of a game, in the order they happen
+     */
+    public enum Type {
+        CREATE, JOIN, MOVE, PASS, END
+    }
+
+    private static final Type[] TYPES = Type.values();
+    private static final Stone[] STONES = Stone.values();
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int MAX_BODY_SIZE = 1024;
+    private static final int MAX_NAME_BYTES = 3 * NAME_LENGTH_MAX;             // At most 3 bytes for every char
+
+    /**
+     * Returned by decode for a record that is intact but can not be decoded, after moving past it
+     */
+    public static final JournalRecord SKIPPED = new JournalRecord(null, -1);
+
+    private final Type type;
+    private final int game;
+    private int boardSize;
+    private int movesPerTurn;
+    private int playersPerGame;
+    private Stone stone;
+    private String name;
+    private int x;
+    private int y;
+
+    private JournalRecord(Type type, int game) {
+        this.type = type;
+        this.game = game;
+    }
+
+    public static JournalRecord create(int game, int boardSize, int movesPerTurn, int playersPerGame) {
+        JournalRecord record = new JournalRecord(Type.CREATE, game);
+        record.boardSize = boardSize;
+        record.movesPerTurn = movesPerTurn;
+        record.playersPerGame = playersPerGame;
+        return record;
+    }
+
+    public static JournalRecord join(int game, Stone stone, String name) {
+        JournalRecord record = new JournalRecord(Type.JOIN, game);
+        record.stone = stone;
+        record.name = name;
+        return record;
+    }
+
+    public static JournalRecord move(int game, Stone stone, int x, int y) {
+        JournalRecord record = new JournalRecord(Type.MOVE, game);
+        record.stone = stone;
+        record.x = x;
+        record.y = y;
+        return record;
+    }
+
+    public static JournalRecord pass(int game, Stone stone) {
+        JournalRecord record = new JournalRecord(Type.PASS, game);
+        record.stone = stone;
+        return record;
+    }
+
+    public static JournalRecord end(int game) {
+        return new JournalRecord(Type.END, game);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getGame() {
+        return game;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getMovesPerTurn() {
+        return movesPerTurn;
+    }
+
+    public int getPlayersPerGame() {
+        return playersPerGame;
+    }
+
+    public Stone getStone() {
+        return stone;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Encodes the record as it is written to the journal
+     * @return ByteBuffer with the header and the body, ready to be written
+     * @throws IllegalArgumentException if the name is longer than a PLAYER accepts, as it could not be read back
+     */
+    public ByteBuffer encode() {
+        byte[] nameBytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+        if (nameBytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException(String.valueOf(nameBytes.length));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 1 + 4 * Integer.BYTES + nameBytes.length);
+        buffer.position(HEADER_SIZE);
+        buffer.put((byte)type.ordinal()).putInt(game);
+        switch (type) {
+            case CREATE:
+                buffer.putInt(boardSize).putInt(movesPerTurn).putInt(playersPerGame);
+                break;
+            case JOIN:
+                buffer.put((byte)stone.ordinal()).putShort((short)nameBytes.length).put(nameBytes);
+                break;
+            case MOVE:
+                buffer.put((byte)stone.ordinal()).putInt(x).putInt(y);
+                break;
+            case PASS:
+                buffer.put((byte)stone.ordinal());
+                break;
+            default:
+                break;
+        }
+        int bodySize = buffer.position() - HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_SIZE, bodySize);
+        buffer.putInt(0, bodySize).putInt(Integer.BYTES, (int)crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the next record and moves the position of the buffer past it
+     * @param buffer the bytes of the journal, from the start of a record
+     * @return the JournalRecord, SKIPPED if the record is intact but can not be decoded, or null if the rest of the
+     * buffer is not a complete and intact record, in which case the position is left where it was
+     */
+    public static JournalRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int bodySize = buffer.getInt(start);
+        int checksum = buffer.getInt(start + Integer.BYTES);
+        if (bodySize <= 0 || bodySize > buffer.remaining() - HEADER_SIZE) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_SIZE, bodySize));
+        if ((int)crc.getValue() != checksum) {
+            return null;
+        }
+        buffer.position(start + HEADER_SIZE + bodySize);
+        if (bodySize > MAX_BODY_SIZE) {
+            return SKIPPED;
+        }
+        try {
+            return decodeBody(buffer.slice(start + HEADER_SIZE, bodySize));
+        }
+        catch (RuntimeException e) {
+            return SKIPPED;                                                     // Intact, but not a record
+        }
+    }
+
+    private static JournalRecord decodeBody(ByteBuffer body) {
+        Type type = TYPES[body.get()];
+        int game = body.getInt();
+        switch (type) {
+            case CREATE:
+                return create(game, body.getInt(), body.getInt(), body.getInt());
+            case JOIN:
+                Stone stone = STONES[body.get()];
+                byte[] name = new byte[body.getShort()];
+                body.get(name);
+                return join(game, stone, new String(name, StandardCharsets.UTF_8));
+            case MOVE:
+                return move(game, STONES[body.get()], body.getInt(), body.getInt());
+            case PASS:
+                return pass(game, STONES[body.get()]);
+            default:
+                return end(game);
+        }
+    }
+}
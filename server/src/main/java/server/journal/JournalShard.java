@@ -0,0 +1,81 @@
+package server.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A JournalShard is one file of the GameJournal. Records are appended by any thread without waiting; the committer
+ * thread of the shard writes everything that was appended since its last commit with gathering writes and forces it
+ * to disk once, so one fsync covers all moves of that moment in all games of the shard.
+ * @author Mark Banierink
+ */
+class JournalShard {
+
+    private static final int MAX_GATHER = 256;
+
+    private final FileChannel channel;
+    private final Queue<ByteBuffer> appended = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];              // Only touched by the committer
+
+    JournalShard(Path file) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, WRITE, APPEND);
+    }
+
+    void append(ByteBuffer record) {
+        appended.add(record);
+    }
+
+    /**
+     * Writes and forces the records that were appended since the last commit. Called by one thread at a time
+     * @return the number of records committed
+     * @throws IOException if the file can not be written, in which case the records of this commit are lost
+     */
+    int commit() throws IOException {
+        int committed = 0;
+        int count = 0;
+        ByteBuffer record;
+        while ((record = appended.poll()) != null) {
+            gather[count++] = record;
+            if (count == MAX_GATHER) {
+                write(count);
+                committed += count;
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            write(count);
+            committed += count;
+        }
+        if (committed > 0) {
+            channel.force(false);
+        }
+        return committed;
+    }
+
+    private void write(int count) throws IOException {
+        try {
+            while (gather[count - 1].hasRemaining()) {
+                channel.write(gather, 0, count);
+            }
+        }
+        finally {
+            Arrays.fill(gather, 0, count, null);
+        }
+    }
+
+    void close() throws IOException {
+        try {
+            commit();
+        }
+        finally {
+            channel.close();
+        }
+    }
+}
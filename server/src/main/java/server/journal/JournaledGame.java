@@ -0,0 +1,114 @@
+package server.journal;
+
+import game.Game;
+import game.Player;
+import java.util.ArrayList;
+import java.util.List;
+
+import static helper.CommandToolbox.*;
+
+/**
+ * A JournaledGame collects the records of one game that did not end while reading the GameJournal, and rebuilds the
+ * Game from them by playing the moves again. Its history is what the players missed: the moves as the VALID and
+ * PASSED lines they were sent as.
+ * @author Mark Banierink
+ */
+public class JournaledGame {
+
+    private final JournalRecord creation;
+    private final List<JournalRecord> records = new ArrayList<>();
+    private Game game;
+
+    /**
+     * Constructor of the JournaledGame
+     * @param creation the CREATE record of the game
+     */
+    public JournaledGame(JournalRecord creation) {
+        this.creation = creation;
+        records.add(creation);
+    }
+
+    public int getNumber() {
+        return creation.getGame();
+    }
+
+    public int getBoardSize() {
+        return creation.getBoardSize();
+    }
+
+    protected void add(JournalRecord record) {
+        records.add(record);
+    }
+
+    /**
+     * Returns every record of the game, the CREATE record first
+     * @return List of JournalRecords in the order they were written
+     */
+    public List<JournalRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns the Game rebuilt by rebuild()
+     * @return the Game, or null if it is not rebuilt (yet)
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Creates the game, adds its players with their stones and plays its moves and passes again
+     * @return false if the game can not be rebuilt, like when the server died before every player joined or after
+     * the last pass but before the end was written
+     */
+    public boolean rebuild() {
+        Game rebuilt = new Game(creation.getBoardSize(), creation.getMovesPerTurn(), creation.getPlayersPerGame());
+        for (JournalRecord record : records) {
+            switch (record.getType()) {
+                case JOIN:
+                    rebuilt.addPlayer(new Player(record.getName()), record.getStone());
+                    break;
+                case MOVE:
+                    if (!isComplete(rebuilt) || !rebuilt.isValidMove(record.getStone(), record.getX(), record.getY())) {
+                        return false;
+                    }
+                    rebuilt.move(record.getStone(), record.getX(), record.getY());
+                    break;
+                case PASS:
+                    if (!isComplete(rebuilt) || !rebuilt.isValidPass(record.getStone())) {
+                        return false;
+                    }
+                    rebuilt.pass();
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (!isComplete(rebuilt) || rebuilt.isFinished()) {
+            return false;
+        }
+        game = rebuilt;
+        return true;
+    }
+
+    private boolean isComplete(Game rebuilt) {
+        return rebuilt.getPlayers().size() == rebuilt.getPlayersPerGame();
+    }
+
+    /**
+     * Returns the moves and passes of the game as they were sent to the players
+     * @return List of VALID and PASSED lines, in the order they were played
+     */
+    public List<String> getHistory() {
+        List<String> history = new ArrayList<>();
+        for (JournalRecord record : records) {
+            if (record.getType() == JournalRecord.Type.MOVE) {
+                history.add(createCommandValid(record.getStone(), record.getX(), record.getY()));
+            }
+            else if (record.getType() == JournalRecord.Type.PASS) {
+                history.add(createCommandPassed(record.getStone()));
+            }
+        }
+        return history;
+    }
+}
@@ -0,0 +1,51 @@
+package server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A Counter only goes up, like the number of moves played. Counting is lock-free and cheap enough for the hot paths
+ * of the server. A Counter can also read its count from somewhere else, like a statistic that is kept already.
+ * @author Mark Banierink
+ */
+public class Counter extends Metric {
+
+    private final LongAdder count = new LongAdder();
+    private final LongSupplier supplier;
+
+    Counter(String name, String label, String help) {
+        super(name, label, help);
+        this.supplier = count::sum;
+    }
+
+    /**
+     * Constructor of a Counter that reads its count; counting it does not change that count
+     */
+    Counter(String name, String label, String help, LongSupplier supplier) {
+        super(name, label, help);
+        this.supplier = supplier;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return "counter";
+    }
+
+    @Override
+    public void collect(ObjLongConsumer<String> samples) {
+        samples.accept(sampleName("", ""), get());
+    }
+}
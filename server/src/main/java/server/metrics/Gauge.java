@@ -0,0 +1,55 @@
+package server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A Gauge goes up and down, like the number of active games. It is either kept up to date lock-free by the code that
+ * changes it, or it reads its value when it is scraped, like the size of a list.
+ * @author Mark Banierink
+ */
+public class Gauge extends Metric {
+
+    private final LongAdder value = new LongAdder();
+    private final LongSupplier supplier;
+
+    Gauge(String name, String label, String help) {
+        super(name, label, help);
+        this.supplier = value::sum;
+    }
+
+    /**
+     * Constructor of a Gauge that reads its value; changing it does not change that value
+     */
+    Gauge(String name, String label, String help, LongSupplier supplier) {
+        super(name, label, help);
+        this.supplier = supplier;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void decrement() {
+        value.decrement();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public String getType() {
+        return "gauge";
+    }
+
+    @Override
+    public void collect(ObjLongConsumer<String> samples) {
+        samples.accept(sampleName("", ""), get());
+    }
+}
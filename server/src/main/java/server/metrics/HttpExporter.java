@@ -0,0 +1,78 @@
+package server.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The HttpExporter serves the metrics of a MetricsRegistry in plain text at /metrics on a local port, for Prometheus
+ * or simply for curl. It only listens on the loopback address and answers on one thread of its own, so a scrape
+ * never takes a thread from the clients.
+ * @author Mark Banierink
+ */
+public class HttpExporter {
+
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int OK = 200;
+    private static final int METHOD_NOT_ALLOWED = 405;
+
+    private final MetricsRegistry registry;
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor of the HttpExporter
+     * @param registry the MetricsRegistry to serve
+     * @param port the local port, or 0 for any free port
+     * @throws IOException if the port can not be bound
+     */
+    public HttpExporter(MetricsRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.createContext(PATH, this::handle);
+        httpServer.setExecutor(executor);
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            boolean head = "HEAD".equals(exchange.getRequestMethod());
+            if (!head && !"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(METHOD_NOT_ALLOWED, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(OK, head ? -1 : body.length);
+            if (!head) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+}
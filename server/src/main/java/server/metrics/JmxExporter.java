@@ -0,0 +1,98 @@
+package server.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.management.*;
+
+/**
+ * The JmxExporter shows the metrics of a MetricsRegistry as read-only attributes of one MBean, one attribute for
+ * every value, so they can be watched with JConsole or any other JMX client. The attributes are read from the
+ * registry every time, so metrics that are added later show up as well.
+ * @author Mark Banierink
+ */
+public class JmxExporter implements DynamicMBean {
+
+    public static final String OBJECT_NAME = "go.server:type=Metrics";
+
+    private final MetricsRegistry registry;
+    private ObjectName objectName;
+
+    /**
+     * Constructor of the JmxExporter
+     * @param registry the MetricsRegistry to show
+     */
+    public JmxExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the MBean with the platform MBeanServer
+     * @throws JMException if the name is taken, like by another server in the same JVM
+     */
+    public void register() throws JMException {
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+        objectName = name;
+    }
+
+    public void unregister() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            }
+            catch (JMException e) {
+                // Not registered anymore
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = registry.snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Long> snapshot = registry.snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            if (snapshot.containsKey(attribute)) {
+                list.add(new Attribute(attribute, snapshot.get(attribute)));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Metric metric : registry.getMetrics()) {
+            metric.collect((sample, value) -> attributes.add(new MBeanAttributeInfo(sample, long.class.getName(),
+                    metric.getHelp(), true, false, false)));
+        }
+        return new MBeanInfo(getClass().getName(), "Metrics of the Go server",
+                attributes.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
@@ -0,0 +1,57 @@
+package server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Meter is a Counter that also knows its rate: the average number per second over the last ten whole seconds. The
+ * counts are kept in a ring of one slot per second; the slot of a new second is claimed with a compare-and-set and
+ * cleared, so a count that happens at that very moment may be missed by the rate, though never by the Counter.
+ * @author Mark Banierink
+ */
+public class Meter extends Counter {
+
+    private static final int WINDOW_SECONDS = 10;
+    private static final int SLOTS = WINDOW_SECONDS + 2;                      // Also the current and the next second
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray seconds = new AtomicLongArray(SLOTS);
+    private final long start = System.nanoTime();
+
+    Meter(String name, String label, String help) {
+        super(name, label, help);
+    }
+
+    @Override
+    public void add(long amount) {
+        super.add(amount);
+        long second = currentSecond();
+        int slot = (int)(second % SLOTS);
+        long slotSecond = seconds.get(slot);
+        if (slotSecond != second && seconds.compareAndSet(slot, slotSecond, second)) {
+            counts.set(slot, 0);
+        }
+        counts.addAndGet(slot, amount);
+    }
+
+    /**
+     * Returns the rate over the last ten whole seconds, so the current second, which is still counting, does not
+     * make it drop
+     * @return long with the average number per second
+     */
+    public long getRate() {
+        long second = currentSecond();
+        long sum = 0;
+        for (long past = second - 1; past >= 0 && past >= second - WINDOW_SECONDS; past--) {
+            int slot = (int)(past % SLOTS);
+            if (seconds.get(slot) == past) {
+                sum += counts.get(slot);
+            }
+        }
+        return sum / WINDOW_SECONDS;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,67 @@
+package server.metrics;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A Metric is a value the server keeps about itself, or a few values that belong together, like the percentiles of
+ * a latency. The values are only read when the metric is scraped. The names follow the Prometheus conventions; a
+ * metric with a label is one member of the family of metrics with the same name.
+ * @author Mark Banierink
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String label;
+    private final String help;
+
+    /**
+     * Constructor of the Metric
+     * @param name the name, like go_games_active
+     * @param label the label, like board_size="9", or an empty String
+     * @param help the description of the metric
+     */
+    protected Metric(String name, String label, String help) {
+        this.name = name;
+        this.label = label;
+        this.help = help;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Returns the type of the metric in the text format
+     * @return String with counter, gauge or summary
+     */
+    public abstract String getType();
+
+    /**
+     * Passes every value of the metric, with its full name, to the consumer
+     * @param samples the consumer of the names and values
+     */
+    public abstract void collect(ObjLongConsumer<String> samples);
+
+    /**
+     * Returns the full name of one of the values of the metric
+     * @param suffix the suffix of the name, like _count, or an empty String
+     * @param extraLabel a label next to the one of the metric, or an empty String
+     * @return String like go_check_move_validity_nanos{quantile="0.99"}
+     */
+    protected String sampleName(String suffix, String extraLabel) {
+        String labels = label.isEmpty() || extraLabel.isEmpty() ? label + extraLabel : label + "," + extraLabel;
+        return key(name + suffix, labels);
+    }
+
+    protected static String key(String name, String label) {
+        return label.isEmpty() ? name : name + "{" + label + "}";
+    }
+}
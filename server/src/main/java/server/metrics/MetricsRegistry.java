@@ -0,0 +1,121 @@
+package server.metrics;
+
+import helper.Histogram;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The MetricsRegistry holds the metrics of the server by their name and label. Asking for a metric that exists
+ * returns that metric, so code that counts per board size can simply ask for the one of its board size. The metrics
+ * are kept sorted, so the members of a family stay together in the text format that is scraped.
+ * @author Mark Banierink
+ */
+public class MetricsRegistry {
+
+    private final ConcurrentNavigableMap<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    /**
+     * Formats a label for a metric
+     * @param name the name of the label, like board_size
+     * @param value the value of the label
+     * @return String like board_size="9"
+     */
+    public static String label(String name, Object value) {
+        return name + "=\"" + value + "\"";
+    }
+
+    public Counter counter(String name, String help) {
+        return counter(name, "", help);
+    }
+
+    public Counter counter(String name, String label, String help) {
+        return register(name, label, Counter.class, () -> new Counter(name, label, help));
+    }
+
+    public Counter counter(String name, String label, String help, LongSupplier supplier) {
+        return register(name, label, Counter.class, () -> new Counter(name, label, help, supplier));
+    }
+
+    public Meter meter(String name, String help) {
+        return register(name, "", Meter.class, () -> new Meter(name, "", help));
+    }
+
+    public Gauge gauge(String name, String help) {
+        return gauge(name, "", help);
+    }
+
+    public Gauge gauge(String name, String label, String help) {
+        return register(name, label, Gauge.class, () -> new Gauge(name, label, help));
+    }
+
+    public Gauge gauge(String name, String label, String help, LongSupplier supplier) {
+        return register(name, label, Gauge.class, () -> new Gauge(name, label, help, supplier));
+    }
+
+    public Summary summary(String name, String help) {
+        return summary(name, help, new Histogram());
+    }
+
+    /**
+     * Returns the Summary of a Histogram that is kept already
+     * @param name the name of the Summary
+     * @param help the description of the Summary
+     * @param histogram the Histogram, used if the Summary does not exist yet
+     * @return the Summary
+     */
+    public Summary summary(String name, String help, Histogram histogram) {
+        return register(name, "", Summary.class, () -> new Summary(name, "", help, histogram));
+    }
+
+    /**
+     * Returns the metric with a name and label, and creates it if it does not exist yet
+     * @throws IllegalArgumentException if a metric of another type has that name and label
+     */
+    private <M extends Metric> M register(String name, String label, Class<M> type, Supplier<M> factory) {
+        Metric metric = metrics.computeIfAbsent(Metric.key(name, label), key -> factory.get());
+        if (metric.getClass() != type) {
+            throw new IllegalArgumentException(Metric.key(name, label) + " is a " + metric.getClass().getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    public Collection<Metric> getMetrics() {
+        return metrics.values();
+    }
+
+    /**
+     * Reads every value of every metric
+     * @return Map of the full names of the values to the values, in the order of the text format
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        for (Metric metric : metrics.values()) {
+            metric.collect(snapshot::put);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes every metric in the plain text format that Prometheus scrapes: the description and type of every
+     * family, followed by one line per value
+     * @return String with the metrics
+     */
+    public String scrape() {
+        StringBuilder text = new StringBuilder();
+        String family = null;
+        for (Metric metric : metrics.values()) {
+            if (!metric.getName().equals(family)) {
+                family = metric.getName();
+                text.append("# HELP ").append(family).append(' ').append(metric.getHelp()).append('\n');
+                text.append("# TYPE ").append(family).append(' ').append(metric.getType()).append('\n');
+            }
+            metric.collect((sample, value) -> text.append(sample).append(' ').append(value).append('\n'));
+        }
+        return text.toString();
+    }
+}
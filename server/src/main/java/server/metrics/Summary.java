@@ -0,0 +1,44 @@
+package server.metrics;
+
+import helper.Histogram;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A Summary counts a latency, or another value that is measured many times, in a Histogram and shows its
+ * percentiles, its count and its maximum. The unit is part of the name, like go_matchmaking_wait_micros.
+ * @author Mark Banierink
+ */
+public class Summary extends Metric {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Histogram histogram;
+
+    Summary(String name, String label, String help, Histogram histogram) {
+        super(name, label, help);
+        this.histogram = histogram;
+    }
+
+    public void record(long value) {
+        histogram.record(value);
+    }
+
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public String getType() {
+        return "summary";
+    }
+
+    @Override
+    public void collect(ObjLongConsumer<String> samples) {
+        for (double quantile : QUANTILES) {
+            samples.accept(sampleName("", MetricsRegistry.label("quantile", quantile)),
+                    histogram.getValueAtPercentile(quantile * 100));
+        }
+        samples.accept(sampleName("_count", ""), histogram.getCount());
+        samples.accept(sampleName("_max", ""), histogram.getMax());
+    }
+}
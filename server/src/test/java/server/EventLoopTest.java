@@ -0,0 +1,94 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the EventLoop and the output of the ChannelClientHandler it serves
+ * @author Mark Banierink
+ */
+class EventLoopTest {
+
+    private static final int TIMEOUT = 5000;
+    private static final int WRITE_DELAY = 50;
+
+    private Server server;
+    private EventLoop eventLoop;
+    private Thread loopThread;
+    private ServerSocketChannel listener;
+    private Socket client;
+    private BufferedReader input;
+    private ChannelClientHandler clientHandler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new Server(2, 2, false);
+        eventLoop = new EventLoop(server);
+        loopThread = new Thread(eventLoop);
+        loopThread.start();
+        listener = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = new Socket(InetAddress.getLoopbackAddress(), listener.socket().getLocalPort());
+        client.setSoTimeout(TIMEOUT);
+        input = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        SocketChannel channel = listener.accept();
+        channel.configureBlocking(false);
+        clientHandler = new ChannelClientHandler(server, channel, eventLoop);
+        eventLoop.register(clientHandler);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        eventLoop.setStop();
+        loopThread.join(TIMEOUT);
+        client.close();
+        listener.close();
+        server.stopServer();
+        server.serve(ServerSocketChannel.open());                               // Returns at once and shuts it down
+    }
+
+    @Test
+    void testFlushAtEndOfTurn() throws IOException {
+        AtomicInteger available = new AtomicInteger(-1);
+        eventLoop.execute(() -> {
+            clientHandler.handleClientOutput("one");
+            clientHandler.handleClientOutput("two");
+            try {
+                Thread.sleep(WRITE_DELAY);                                      // Long enough for a write to arrive
+                available.set(client.getInputStream().available());
+            }
+            catch (IOException | InterruptedException e) {
+                fail(e);
+            }
+        });
+        assertEquals("one", input.readLine());
+        assertEquals("two", input.readLine());
+        assertEquals(0, available.get());                                       // Nothing was written during the turn
+    }
+
+    @Test
+    void testOutputFromOtherThread() throws IOException {
+        clientHandler.handleClientOutput("one");
+        clientHandler.handleClientOutput("two");
+        assertEquals("one", input.readLine());
+        assertEquals("two", input.readLine());
+    }
+
+    @Test
+    void testCloseAfterFlush() throws IOException {
+        clientHandler.handleClientOutput("one");
+        clientHandler.close();
+        assertEquals("one", input.readLine());
+        assertNull(input.readLine());
+    }
+}
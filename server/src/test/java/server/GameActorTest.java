@@ -0,0 +1,70 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.nio.channels.ServerSocketChannel;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the mailbox of the GameActor. The executor only collects the scheduled runs, so the test decides when
+ * they run
+ * @author Mark Banierink
+ */
+class GameActorTest {
+
+    private static final int NUM_MESSAGES = 100;
+    private static final int MAX_BATCH = 64;
+
+    private Server server;
+    private List<Runnable> scheduled;
+    private GameActor gameActor;
+
+    @BeforeEach
+    void setUp() {
+        server = new Server(2, 2, false);
+        scheduled = new ArrayList<>();
+        gameActor = new GameActor(server, scheduled::add);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stopServer();
+        server.serve(ServerSocketChannel.open());                               // Returns at once and shuts it down
+    }
+
+    @Test
+    void testOrder() {
+        List<Integer> messages = new ArrayList<>();
+        for (int i = 0; i < NUM_MESSAGES; i++) {
+            int message = i;
+            gameActor.tell(() -> messages.add(message));
+        }
+        assertEquals(1, scheduled.size());                                      // Scheduled once for all messages
+        scheduled.remove(0).run();
+        assertEquals(MAX_BATCH, messages.size());
+        assertEquals(1, scheduled.size());                                      // Gave up its thread for the rest
+        scheduled.remove(0).run();
+        assertEquals(NUM_MESSAGES, messages.size());
+        assertTrue(scheduled.isEmpty());
+        for (int i = 0; i < NUM_MESSAGES; i++) {
+            assertEquals(i, messages.get(i));
+        }
+    }
+
+    @Test
+    void testException() {
+        List<Integer> messages = new ArrayList<>();
+        gameActor.tell(() -> {
+            throw new IllegalStateException();
+        });
+        gameActor.tell(() -> messages.add(1));
+        scheduled.remove(0).run();
+        assertEquals(List.of(1), messages);
+        gameActor.tell(() -> messages.add(2));                                  // Still takes messages afterwards
+        assertEquals(1, scheduled.size());
+        scheduled.remove(0).run();
+        assertEquals(List.of(1, 2), messages);
+    }
+}
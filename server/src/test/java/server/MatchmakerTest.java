@@ -0,0 +1,43 @@
+package server;
+
+import game.Player;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class MatchmakerTest {
+
+    private Matchmaker matchmaker;
+    private Player player1;
+    private Player player2;
+
+    @BeforeEach
+    void setUp() {
+        matchmaker = new Matchmaker(null, true);
+        player1 = new Player("Joop");
+        player2 = new Player("Piet");
+    }
+
+    @Test
+    void testEnqueue() {
+        assertTrue(matchmaker.enqueue(player1, 9, 2));
+        assertFalse(matchmaker.enqueue(player1, 9, 2));
+        assertTrue(matchmaker.enqueue(player2, 13, 2));
+        assertTrue(matchmaker.isWaiting(player1));
+        assertEquals(2, matchmaker.getQueueDepth());
+        assertEquals(1, matchmaker.getQueueDepth(9, 2));
+        assertEquals(0, matchmaker.getQueueDepth(9, 3));
+    }
+
+    @Test
+    void testCancel() {
+        matchmaker.enqueue(player1, 9, 2);
+        assertTrue(matchmaker.cancel(player1));
+        assertFalse(matchmaker.cancel(player1));
+        assertFalse(matchmaker.isWaiting(player1));
+        assertEquals(0, matchmaker.getQueueDepth());
+    }
+}
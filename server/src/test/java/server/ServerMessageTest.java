@@ -0,0 +1,54 @@
+package server;
+
+import helper.BinaryCodec;
+import helper.CommandParser;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the ServerMessage, which is encoded once and shared by all its recipients
+ * @author Mark Banierink
+ */
+class ServerMessageTest {
+
+    private static final String LINE = "VALID black 2 2";
+
+    private ServerMessage message;
+
+    @BeforeEach
+    void setUp() {
+        message = new ServerMessage(LINE);
+    }
+
+    @Test
+    void testText() {
+        ByteBuffer text = message.getText();
+        assertSame(text, message.getText());                                    // Encoded once
+        assertTrue(text.isReadOnly());
+        assertEquals(ByteBuffer.wrap((LINE + "\n").getBytes(StandardCharsets.UTF_8)), text);
+    }
+
+    @Test
+    void testBinary() {
+        ByteBuffer binary = message.getBinary(9);
+        assertSame(binary, message.getBinary(9));
+        assertTrue(binary.isReadOnly());
+        assertEquals(BinaryCodec.encode(new CommandParser().decode(LINE), 9), binary);
+        assertEquals(BinaryCodec.encode(new CommandParser().decode(LINE), 13), message.getBinary(13));
+    }
+
+    @Test
+    void testFanOut() {
+        ByteBuffer text = message.getText();
+        int length = text.remaining();
+        ByteBuffer first = text.duplicate();                                    // What every recipient writes
+        ByteBuffer second = text.duplicate();
+        first.get(new byte[length]);
+        assertFalse(first.hasRemaining());
+        assertEquals(length, second.remaining());
+        assertEquals(length, text.remaining());                                 // The shared buffer is not moved
+    }
+}
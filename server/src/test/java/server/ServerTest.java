@@ -0,0 +1,200 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static helper.enums.Resources.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Created by mark.banierink on 25-1-2017.
+ */
+class ServerTest {
+
+    private static final int TIMEOUT = 5000;
+    private static final int RETRY_DELAY = 20;
+
+    private Server server;
+    private ServerSocketChannel serverChannel;
+    private Thread serveThread;
+    private List<Connection> connections = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Connection connection : connections) {
+            connection.socket.close();
+        }
+        if (serveThread != null && serveThread.isAlive()) {
+            stopServer();
+        }
+    }
+
+    @Test
+    void testMain() {
+
+    }
+
+    @Test
+    void testHandleClientInput() {
+
+    }
+
+    @Test
+    void testPrintOutput() {
+
+    }
+
+    @Test
+    void testRoundTripBlocking() throws Exception {
+        testRoundTrip(false);
+    }
+
+    @Test
+    void testRoundTripNonBlocking() throws Exception {
+        testRoundTrip(true);
+    }
+
+    /**
+     * Two players are matched, the one with black moves and both receive the same VALID
+     */
+    private void testRoundTrip(boolean nonBlocking) throws Exception {
+        startServer(nonBlocking);
+        Connection ann = connect();
+        Connection bob = connect();
+        ann.send("PLAYER ann\nGO 5\n");
+        assertEquals("WAITING", ann.receive());
+        bob.send("PLAYER bob\nGO 5\n");
+        assertEquals("WAITING", bob.receive());
+        String annReady = ann.receive();
+        String bobReady = bob.receive();
+        assertTrue(annReady.equals("READY black bob 5") && bobReady.equals("READY white ann 5")
+                || annReady.equals("READY white bob 5") && bobReady.equals("READY black ann 5"));
+        Connection black = annReady.startsWith("READY black") ? ann : bob;
+        black.send("MOVE 2 2\n");
+        assertEquals("VALID black 2 2", ann.receive());
+        assertEquals("VALID black 2 2", bob.receive());
+    }
+
+    @Test
+    void testPartialLines() throws Exception {
+        startServer(true);
+        Connection ann = connect();
+        for (String part : new String[]{"PLAY", "ER ann\r", "\nGO", " 5", "\n"}) {
+            ann.send(part);
+            Thread.sleep(RETRY_DELAY);                                          // Every part arrives in its own read
+        }
+        assertEquals("WAITING", ann.receive());
+    }
+
+    @Test
+    void testNameTaken() throws Exception {
+        startServer(true);
+        Connection ann = connect();
+        ann.send("PLAYER ann\nGO 5\n");
+        assertEquals("WAITING", ann.receive());
+        Connection bob = connect();
+        bob.send("PLAYER ann\n");
+        assertEquals("WARNING " + NAME_TAKEN, bob.receive());
+        ann.socket.close();
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        String line;
+        do {                                                                    // The name is freed when ann is removed
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(RETRY_DELAY);
+            Connection other = connect();
+            other.send("PLAYER ann\nGO 5\n");
+            line = other.receive();
+        } while (!"WAITING".equals(line));
+    }
+
+    @Test
+    void testNameTooLong() throws Exception {
+        startServer(true);
+        Connection ann = connect();
+        ann.send("PLAYER " + "a".repeat(Server.NAME_LENGTH_MAX + 1) + "\n");
+        assertEquals("WARNING " + NAME_TOO_LONG, ann.receive());
+        ann.send("PLAYER " + "a".repeat(Server.NAME_LENGTH_MAX) + "\nGO 5\n");
+        assertEquals("WAITING", ann.receive());
+    }
+
+    @Test
+    void testShutDownBlocking() throws Exception {
+        testShutDown(false);
+    }
+
+    @Test
+    void testShutDownNonBlocking() throws Exception {
+        testShutDown(true);
+    }
+
+    /**
+     * The broadcast of the shutdown is written before the connection is closed
+     */
+    private void testShutDown(boolean nonBlocking) throws Exception {
+        startServer(nonBlocking);
+        Connection ann = connect();
+        ann.send("PLAYER ann\nGO 5\n");
+        assertEquals("WAITING", ann.receive());
+        stopServer();
+        assertEquals(SERVER_SHUTDOWN.toString(), ann.receive());
+        assertNull(ann.receive());
+    }
+
+    private void startServer(boolean nonBlocking) throws IOException {
+        server = new Server(4, 2, nonBlocking);
+        serverChannel = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        serveThread = new Thread(() -> server.serve(serverChannel));
+        serveThread.start();
+    }
+
+    private void stopServer() throws Exception {
+        server.stopServer();
+        serverChannel.close();
+        serveThread.join(TIMEOUT);
+        assertFalse(serveThread.isAlive());
+    }
+
+    private Connection connect() throws IOException {
+        int port = serverChannel.socket().getLocalPort();
+        Connection connection = new Connection(new Socket(InetAddress.getLoopbackAddress(), port));
+        connections.add(connection);
+        return connection;
+    }
+
+    /**
+     * A client connection that sends and receives lines of the text protocol
+     */
+    private static class Connection {
+
+        private Socket socket;
+        private BufferedReader input;
+        private OutputStream output;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setSoTimeout(TIMEOUT);
+            input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            output = socket.getOutputStream();
+        }
+
+        private void send(String string) throws IOException {
+            output.write(string.getBytes(StandardCharsets.UTF_8));
+            output.flush();
+        }
+
+        private String receive() throws IOException {
+            return input.readLine();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test for the output of the SocketClientHandler
+ * @author Mark Banierink
+ */
+class SocketClientHandlerTest {
+
+    private static final int TIMEOUT = 5000;
+
+    private Server server;
+    private ServerSocketChannel listener;
+    private Socket client;
+    private BufferedReader input;
+    private SocketClientHandler clientHandler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new Server(2, 2, false);
+        listener = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = new Socket(InetAddress.getLoopbackAddress(), listener.socket().getLocalPort());
+        client.setSoTimeout(TIMEOUT);
+        input = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+        clientHandler = new SocketClientHandler(server, listener.accept().socket());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.close();
+        listener.close();
+        server.stopServer();
+        server.serve(ServerSocketChannel.open());                               // Returns at once and shuts it down
+    }
+
+    @Test
+    void testOutput() throws IOException {
+        clientHandler.handleClientOutput("one");
+        clientHandler.handleClientOutput("two");
+        assertEquals("one", input.readLine());
+        assertEquals("two", input.readLine());
+        assertEquals(0, server.getMetrics().getQueueDepth());
+    }
+
+    @Test
+    void testWriteAfterClose() throws IOException {
+        clientHandler.handleClientOutput("one");
+        clientHandler.close();
+        clientHandler.handleClientOutput("two");                                // Dropped, not queued forever
+        assertEquals("one", input.readLine());
+        assertNull(input.readLine());
+        assertEquals(0, server.getMetrics().getQueueDepth());
+    }
+}
@@ -0,0 +1,127 @@
+package server.journal;
+
+import game.Game;
+import helper.Logger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import static helper.ServerClientInterface.NAME_LENGTH_MAX;
+import static helper.enums.Stone.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Mark Banierink
+ */
+class GameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private Logger logger = new Logger("Test");
+
+    @Test
+    void testRecord() {
+        JournalRecord record = JournalRecord.decode(JournalRecord.join(7, WHITE, "Joop").encode());
+        assertEquals(JournalRecord.Type.JOIN, record.getType());
+        assertEquals(7, record.getGame());
+        assertEquals(WHITE, record.getStone());
+        assertEquals("Joop", record.getName());
+        ByteBuffer torn = JournalRecord.move(7, BLACK, 2, 3).encode();
+        torn.limit(torn.limit() - 1);
+        assertNull(JournalRecord.decode(torn));
+        assertEquals(0, torn.position());
+    }
+
+    @Test
+    void testRecover() throws Exception {
+        GameJournal journal = new GameJournal(directory, 3, logger);
+        assertTrue(journal.open().isEmpty());
+        play(journal, 1);
+        play(journal, 2);
+        journal.pass(2, BLACK);
+        journal.end(2);
+        journal.close();
+
+        journal = new GameJournal(directory, 2, logger);
+        List<JournaledGame> games = journal.open();
+        journal.close();
+        assertEquals(1, games.size());
+        Game game = games.get(0).getGame();
+        assertEquals(1, games.get(0).getNumber());
+        assertEquals(BLACK, game.getBoard().getField(1, 1));
+        assertEquals(WHITE, game.getPlayers().get(1).getStone());
+        assertEquals("Piet", game.getPlayers().get(1).getName());
+        assertEquals(BLACK, game.getTurn());
+        assertEquals(List.of("VALID black 1 1", "PASSED white"), games.get(0).getHistory());
+        assertFalse(Files.exists(directory.resolve("shard-2.journal")));        // One shard less than before
+    }
+
+    @Test
+    void testTornRecord() throws Exception {
+        GameJournal journal = new GameJournal(directory, 1, logger);
+        journal.open();
+        play(journal, 1);
+        journal.close();
+        ByteBuffer torn = JournalRecord.move(1, BLACK, 2, 2).encode();
+        Files.write(directory.resolve("shard-0.journal"), Arrays.copyOf(torn.array(), torn.limit() - 2),
+                StandardOpenOption.APPEND);
+
+        journal = new GameJournal(directory, 1, logger);
+        List<JournaledGame> games = journal.open();
+        journal.close();
+        assertEquals(1, games.size());
+        assertEquals(2, games.get(0).getHistory().size());
+    }
+
+    @Test
+    void testLongName() throws Exception {
+        String longest = "\u20AC".repeat(NAME_LENGTH_MAX);                       // Three bytes for every char
+        assertEquals(longest, JournalRecord.decode(JournalRecord.join(1, BLACK, longest).encode()).getName());
+        assertThrows(IllegalArgumentException.class, () -> JournalRecord.join(1, BLACK, longest + "x").encode());
+
+        GameJournal journal = new GameJournal(directory, 1, logger);
+        journal.open();
+        play(journal, 1);
+        journal.close();
+        ByteBuffer next = JournalRecord.move(1, BLACK, 2, 2).encode();
+        Path file = directory.resolve("shard-0.journal");
+        Files.write(file, oversizedJoin(1, "x".repeat(2000)), StandardOpenOption.APPEND);
+        Files.write(file, Arrays.copyOf(next.array(), next.limit()), StandardOpenOption.APPEND);
+
+        journal = new GameJournal(directory, 1, logger);
+        List<JournaledGame> games = journal.open();
+        journal.close();
+        assertEquals(1, games.size());
+        assertEquals(List.of("VALID black 1 1", "PASSED white", "VALID black 2 2"), games.get(0).getHistory());
+    }
+
+    /**
+     * Creates an intact JOIN record that is too large to be read back, as the journal once wrote for long names
+     */
+    private byte[] oversizedJoin(int game, String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(1 + Integer.BYTES + 1 + Short.BYTES + nameBytes.length);
+        body.put((byte)JournalRecord.Type.JOIN.ordinal()).putInt(game).put((byte)WHITE.ordinal());
+        body.putShort((short)nameBytes.length).put(nameBytes);
+        CRC32C crc = new CRC32C();
+        crc.update(body.array());
+        return ByteBuffer.allocate(2 * Integer.BYTES + body.capacity()).putInt(body.capacity())
+                .putInt((int)crc.getValue()).put(body.array()).array();
+    }
+
+    private void play(GameJournal journal, int game) {
+        journal.create(game, 9, 1, 2);
+        journal.join(game, BLACK, "Joop");
+        journal.join(game, WHITE, "Piet");
+        journal.move(game, BLACK, 1, 1);
+        journal.pass(game, WHITE);
+    }
+}
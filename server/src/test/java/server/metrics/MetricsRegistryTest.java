@@ -0,0 +1,122 @@
+package server.metrics;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static server.metrics.MetricsRegistry.label;
+
+/**
+ * @author Mark Banierink
+ */
+class MetricsRegistryTest {
+
+    private MetricsRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MetricsRegistry();
+    }
+
+    @Test
+    void testCounter() {
+        Counter counter = registry.counter("go_kicks_total", "Clients kicked");
+        counter.increment();
+        counter.add(2);
+        assertSame(counter, registry.counter("go_kicks_total", "Clients kicked"));
+        assertEquals(3, counter.get());
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("go_kicks_total", "Clients kicked"));
+    }
+
+    @Test
+    void testGauge() {
+        Gauge nine = registry.gauge("go_games_active", label("board_size", 9), "Games");
+        Gauge nineteen = registry.gauge("go_games_active", label("board_size", 19), "Games");
+        nine.increment();
+        nine.increment();
+        nine.decrement();
+        nineteen.add(4);
+        registry.gauge("go_players_active", "", "Players", () -> 7);
+        Map<String, Long> snapshot = registry.snapshot();
+        assertEquals(1, snapshot.get("go_games_active{board_size=\"9\"}"));
+        assertEquals(4, snapshot.get("go_games_active{board_size=\"19\"}"));
+        assertEquals(7, snapshot.get("go_players_active"));
+    }
+
+    @Test
+    void testSummary() {
+        Summary summary = registry.summary("go_wait_micros", "Wait");
+        for (int i = 1; i <= 100; i++) {
+            summary.record(i);
+        }
+        Map<String, Long> snapshot = registry.snapshot();
+        assertEquals(50, snapshot.get("go_wait_micros{quantile=\"0.5\"}"));
+        assertEquals(99, snapshot.get("go_wait_micros{quantile=\"0.99\"}"));
+        assertEquals(100, snapshot.get("go_wait_micros_count"));
+        assertEquals(100, snapshot.get("go_wait_micros_max"));
+    }
+
+    @Test
+    void testMeter() {
+        Meter meter = registry.meter("go_moves_total", "Moves");
+        meter.add(5);
+        assertEquals(5, meter.get());
+        assertEquals(0, meter.getRate());                                       // The current second does not count yet
+    }
+
+    @Test
+    void testScrape() {
+        registry.gauge("go_games_active", label("board_size", 9), "Games in progress").add(2);
+        registry.gauge("go_games_active", label("board_size", 13), "Games in progress").add(1);
+        registry.counter("go_kicks_total", "Clients kicked").increment();
+        assertEquals("# HELP go_games_active Games in progress\n"
+                + "# TYPE go_games_active gauge\n"
+                + "go_games_active{board_size=\"13\"} 1\n"
+                + "go_games_active{board_size=\"9\"} 2\n"
+                + "# HELP go_kicks_total Clients kicked\n"
+                + "# TYPE go_kicks_total counter\n"
+                + "go_kicks_total 1\n", registry.scrape());
+    }
+
+    @Test
+    void testHttpExporter() throws Exception {
+        registry.counter("go_kicks_total", "Clients kicked").add(3);
+        HttpExporter exporter = new HttpExporter(registry, 0);
+        exporter.start();
+        try {
+            URL url = new URL("http://localhost:" + exporter.getPort() + HttpExporter.PATH);
+            HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+            try (InputStream in = connection.getInputStream()) {
+                assertEquals(registry.scrape(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        finally {
+            exporter.stop();
+        }
+    }
+
+    @Test
+    void testJmxExporter() throws Exception {
+        registry.counter("go_kicks_total", "Clients kicked").add(3);
+        JmxExporter exporter = new JmxExporter(registry);
+        exporter.register();
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JmxExporter.OBJECT_NAME);
+            assertEquals(3L, mBeanServer.getAttribute(name, "go_kicks_total"));
+            assertEquals(1, mBeanServer.getMBeanInfo(name).getAttributes().length);
+        }
+        finally {
+            exporter.unregister();
+        }
+    }
+}
@@ -1,26 +0,0 @@
-package server;
-
-import org.junit.jupiter.api.Test;
-
-import static org.junit.jupiter.api.Assertions.*;
-
-/**
- * Created by mark.banierink on 25-1-2017.
- */
-class ServerTest {
-    @Test
-    void testMain() {
-
-    }
-
-    @Test
-    void testHandleClientInput() {
-
-    }
-
-    @Test
-    void testPrintOutput() {
-
-    }
-
-}
\ No newline at end of file